@@ -0,0 +1,59 @@
+package com.example.bankcards.reactive.config;
+
+import com.example.bankcards.reactive.security.JwtAuthenticationConverter;
+import com.example.bankcards.reactive.security.JwtReactiveAuthenticationManager;
+import com.example.bankcards.reactive.security.ProblemDetailEntryPoint;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import javax.crypto.SecretKey;
+
+@Configuration
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class SecurityConfig {
+	@Value("${jwt.secret.access}")
+	private String accessSecret;
+	
+	@Bean
+	public SecretKey accessSecretKey() {
+		return Keys.hmacShaKeyFor(Decoders.BASE64.decode(accessSecret));
+	}
+	
+	@Bean
+	public SecurityWebFilterChain filterChain(
+		ServerHttpSecurity http,
+		JwtReactiveAuthenticationManager authenticationManager,
+		JwtAuthenticationConverter authenticationConverter,
+		ProblemDetailEntryPoint entryPoint
+	) {
+		AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(authenticationManager);
+		jwtFilter.setServerAuthenticationConverter(authenticationConverter);
+		jwtFilter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(entryPoint));
+		jwtFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+		
+		return http
+				.csrf(ServerHttpSecurity.CsrfSpec::disable)
+				.httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+				.formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+				.logout(ServerHttpSecurity.LogoutSpec::disable)
+				.securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+				.exceptionHandling(exception -> exception.authenticationEntryPoint(entryPoint))
+				.authorizeExchange(exchange -> exchange
+						.pathMatchers("/actuator/health").permitAll()
+						.anyExchange().authenticated())
+				.addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+				.build();
+	}
+}
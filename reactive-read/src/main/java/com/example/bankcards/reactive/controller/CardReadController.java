@@ -0,0 +1,58 @@
+package com.example.bankcards.reactive.controller;
+
+import com.example.bankcards.reactive.dto.CardBalanceResponse;
+import com.example.bankcards.reactive.dto.CardDto;
+import com.example.bankcards.reactive.security.AuthenticatedUser;
+import com.example.bankcards.reactive.service.CardReadService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/cards")
+@RequiredArgsConstructor
+public class CardReadController {
+	private final CardReadService cardReadService;
+	
+	@GetMapping("/{id}")
+	public Mono<CardDto> getCardById(
+			@AuthenticationPrincipal AuthenticatedUser user,
+			@PathVariable UUID id
+	) {
+		return cardReadService.getCardById(user, id);
+	}
+	
+	@GetMapping("/balance/{id}")
+	@PreAuthorize("hasAnyAuthority('USER')")
+	public Mono<CardBalanceResponse> getCardBalance(
+			@AuthenticationPrincipal AuthenticatedUser user,
+			@PathVariable UUID id
+	) {
+		return cardReadService.getCardBalance(user, id);
+	}
+	
+	@GetMapping
+	public Mono<Page<CardDto>> getCards(
+			@RequestParam(required = false, defaultValue = "1")
+			@Min(1)
+			int page,
+			
+			@RequestParam(required = false, defaultValue = "10")
+			@Min(1) @Max(100)
+			int size,
+			@RequestParam(required = false)
+			String q,
+			@RequestParam(required = false, defaultValue = "exact")
+			String count,
+			@AuthenticationPrincipal AuthenticatedUser user
+	) {
+		return cardReadService.getCards(page - 1, size, q, user);
+	}
+}
@@ -0,0 +1,24 @@
+package com.example.bankcards.reactive.controller;
+
+import com.example.bankcards.reactive.dto.UserDto;
+import com.example.bankcards.reactive.security.AuthenticatedUser;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/users")
+public class UserReadController {
+	
+	/**
+	 * The user row is already loaded during authentication, no second query is needed.
+	 */
+	@GetMapping("/current")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'USER')")
+	public Mono<UserDto> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser user) {
+		return Mono.just(user.toUserDto());
+	}
+}
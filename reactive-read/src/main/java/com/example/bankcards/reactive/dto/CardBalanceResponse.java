@@ -0,0 +1,12 @@
+package com.example.bankcards.reactive.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+
+public record CardBalanceResponse(
+	BigDecimal balance,
+	@JsonProperty("cardNumber")
+	String maskedNumber
+) {
+}
@@ -0,0 +1,21 @@
+package com.example.bankcards.reactive.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Same JSON as the servlet app's {@code CardDto}, or {@code CardDtoWithBalance} when the balance is set.
+ */
+public record CardDto(
+	UUID id,
+	String maskedNumber,
+	CardOwnerDto owner,
+	String status,
+	LocalDate expiryDate,
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	BigDecimal balance
+) {
+}
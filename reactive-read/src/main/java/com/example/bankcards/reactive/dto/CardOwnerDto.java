@@ -0,0 +1,16 @@
+package com.example.bankcards.reactive.dto;
+
+import java.util.UUID;
+
+public record CardOwnerDto(UUID id, String displayName) {
+	/**
+	 * Joins the name parts that are present, {@code null} when neither is.
+	 */
+	public static CardOwnerDto of(UUID id, String firstName, String lastName) {
+		if (firstName == null || lastName == null) {
+			return new CardOwnerDto(id, firstName != null ? firstName : lastName);
+		}
+		
+		return new CardOwnerDto(id, firstName + " " + lastName);
+	}
+}
@@ -0,0 +1,13 @@
+package com.example.bankcards.reactive.dto;
+
+import java.util.UUID;
+
+public record UserDto(
+	UUID id,
+	String email,
+	String firstName,
+	String lastName,
+	String patronymic,
+	String role
+) {
+}
@@ -0,0 +1,79 @@
+package com.example.bankcards.reactive.repository;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * SQL counterparts of the summary queries in the servlet app's {@code CardRepository}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CardReadRepository {
+	private static final String SELECT_SUMMARY = "SELECT c.id, c.number, c.status, c.expiry_date, c.balance, "
+			+ "o.id AS owner_id, o.first_name, o.last_name FROM cards c JOIN users o ON o.id = c.user_id";
+	private static final String SELECT_COUNT = "SELECT count(*) FROM cards c JOIN users o ON o.id = c.user_id";
+	
+	private final DatabaseClient databaseClient;
+	
+	public Mono<CardRow> findSummaryById(UUID id) {
+		return databaseClient.sql(SELECT_SUMMARY + " WHERE c.id = :id")
+				.bind("id", id)
+				.map(CardReadRepository::toRow)
+				.one();
+	}
+	
+	/**
+	 * @param where SQL condition over {@code c} and {@code o}, {@code null} for all cards
+	 */
+	public Flux<CardRow> findSummaries(String where, Map<String, Object> parameters, Pageable pageable) {
+		DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+				SELECT_SUMMARY + whereClause(where) + " ORDER BY c.id LIMIT :limit OFFSET :offset"
+		);
+		
+		for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+			spec = spec.bind(parameter.getKey(), parameter.getValue());
+		}
+		
+		return spec.bind("limit", pageable.getPageSize())
+				.bind("offset", pageable.getOffset())
+				.map(CardReadRepository::toRow)
+				.all();
+	}
+	
+	public Mono<Long> count(String where, Map<String, Object> parameters) {
+		DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(SELECT_COUNT + whereClause(where));
+		
+		for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+			spec = spec.bind(parameter.getKey(), parameter.getValue());
+		}
+		
+		return spec.map(row -> row.get(0, Long.class)).one();
+	}
+	
+	private static String whereClause(String where) {
+		return where == null ? "" : " WHERE " + where;
+	}
+	
+	private static CardRow toRow(Readable row) {
+		return new CardRow(
+				row.get("id", UUID.class),
+				row.get("number", String.class),
+				row.get("status", String.class),
+				row.get("expiry_date", LocalDate.class),
+				row.get("balance", BigDecimal.class),
+				row.get("owner_id", UUID.class),
+				row.get("first_name", String.class),
+				row.get("last_name", String.class)
+		);
+	}
+}
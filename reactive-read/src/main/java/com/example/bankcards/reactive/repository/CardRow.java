@@ -0,0 +1,38 @@
+package com.example.bankcards.reactive.repository;
+
+import com.example.bankcards.reactive.dto.CardDto;
+import com.example.bankcards.reactive.dto.CardOwnerDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record CardRow(
+	UUID id,
+	String number,
+	String status,
+	LocalDate expiryDate,
+	BigDecimal balance,
+	UUID ownerId,
+	String ownerFirstName,
+	String ownerLastName
+) {
+	/**
+	 * Same mask as {@code CardUtils.maskNumber} in the servlet app.
+	 */
+	public String maskedNumber() {
+		return "**** **** " + number.substring(number.length() - 4);
+	}
+	
+	public CardDto toCardDto() {
+		return new CardDto(id, maskedNumber(), owner(), status, expiryDate, null);
+	}
+	
+	public CardDto toCardDtoWithBalance() {
+		return new CardDto(id, maskedNumber(), owner(), status, expiryDate, balance);
+	}
+	
+	private CardOwnerDto owner() {
+		return CardOwnerDto.of(ownerId, ownerFirstName, ownerLastName);
+	}
+}
@@ -0,0 +1,31 @@
+package com.example.bankcards.reactive.repository;
+
+import com.example.bankcards.reactive.security.AuthenticatedUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class UserReadRepository {
+	private final DatabaseClient databaseClient;
+	
+	public Mono<AuthenticatedUser> findByEmail(String email) {
+		return databaseClient.sql(
+						"SELECT id, email, first_name, last_name, patronymic, role FROM users WHERE email = :email"
+				)
+				.bind("email", email)
+				.map(row -> new AuthenticatedUser(
+						row.get("id", UUID.class),
+						row.get("email", String.class),
+						row.get("first_name", String.class),
+						row.get("last_name", String.class),
+						row.get("patronymic", String.class),
+						row.get("role", String.class)
+				))
+				.one();
+	}
+}
@@ -0,0 +1,32 @@
+package com.example.bankcards.reactive.security;
+
+import com.example.bankcards.reactive.dto.UserDto;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.UUID;
+
+public record AuthenticatedUser(
+	UUID id,
+	String email,
+	String firstName,
+	String lastName,
+	String patronymic,
+	String role
+) {
+	public static final String ADMIN = "ADMIN";
+	public static final String USER = "USER";
+	
+	public boolean hasRole(String role) {
+		return this.role.equals(role);
+	}
+	
+	public List<GrantedAuthority> getAuthorities() {
+		return List.of(new SimpleGrantedAuthority(role));
+	}
+	
+	public UserDto toUserDto() {
+		return new UserDto(id, email, firstName, lastName, patronymic, role);
+	}
+}
@@ -0,0 +1,27 @@
+package com.example.bankcards.reactive.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+@Component
+public class JwtAuthenticationConverter implements ServerAuthenticationConverter {
+	private static final String BEARER_PREFIX = "Bearer ";
+	
+	@Override
+	public Mono<Authentication> convert(ServerWebExchange exchange) {
+		String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+		
+		if (header == null || !header.startsWith(BEARER_PREFIX)) {
+			return Mono.empty();
+		}
+		
+		String jwt = header.substring(BEARER_PREFIX.length());
+		
+		return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(jwt, jwt));
+	}
+}
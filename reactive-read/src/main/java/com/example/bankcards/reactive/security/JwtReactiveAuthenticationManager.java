@@ -0,0 +1,54 @@
+package com.example.bankcards.reactive.security;
+
+import com.example.bankcards.reactive.repository.UserReadRepository;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.SecretKey;
+
+/**
+ * Same checks as the servlet {@code RequestFilter}: not blacklisted, valid signature and expiry, known user.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+	private static final String INVALID_TOKEN_ERROR_MESSAGE = "Invalid token";
+	
+	private final SecretKey accessSecretKey;
+	private final ReactiveTokenBlacklist tokenBlacklist;
+	private final UserReadRepository userReadRepository;
+	
+	@Override
+	public Mono<Authentication> authenticate(Authentication authentication) {
+		String jwt = (String) authentication.getCredentials();
+		
+		return tokenBlacklist.isBlacklisted(jwt)
+				.flatMap(blacklisted -> blacklisted
+						? Mono.error(new BadCredentialsException(INVALID_TOKEN_ERROR_MESSAGE))
+						: Mono.fromCallable(() -> extractUsername(jwt))
+				)
+				.flatMap(userReadRepository::findByEmail)
+				.switchIfEmpty(Mono.error(new BadCredentialsException(INVALID_TOKEN_ERROR_MESSAGE)))
+				.map(user -> UsernamePasswordAuthenticationToken.authenticated(user, jwt, user.getAuthorities()));
+	}
+	
+	private String extractUsername(String jwt) {
+		try {
+			return Jwts.parser()
+					.verifyWith(accessSecretKey)
+					.build()
+					.parseSignedClaims(jwt)
+					.getPayload()
+					.getSubject();
+		} catch (JwtException | IllegalArgumentException e) {
+			throw new BadCredentialsException(e.getMessage(), e);
+		}
+	}
+}
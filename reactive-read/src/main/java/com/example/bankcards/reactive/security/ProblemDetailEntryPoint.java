@@ -0,0 +1,36 @@
+package com.example.bankcards.reactive.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+public class ProblemDetailEntryPoint implements ServerAuthenticationEntryPoint {
+	private final ObjectMapper objectMapper;
+	
+	@Override
+	public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException exception) {
+		ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.UNAUTHORIZED, exception.getMessage());
+		ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.UNAUTHORIZED);
+		response.getHeaders().setContentType(MediaType.APPLICATION_PROBLEM_JSON);
+		
+		try {
+			DataBuffer body = response.bufferFactory().wrap(objectMapper.writeValueAsBytes(problemDetail));
+			return response.writeWith(Mono.just(body));
+		} catch (JsonProcessingException e) {
+			return Mono.error(e);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.example.bankcards.reactive.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+
+/**
+ * Reads the servlet app's {@code jwt-blacklist} Redis cache. That cache also stores a null marker
+ * for tokens that were checked and found clean, so only a non-null entry means the token is revoked.
+ */
+@Slf4j
+@Component
+public class ReactiveTokenBlacklist {
+	private static final String KEY_PREFIX = "jwt-blacklist::";
+	private static final byte[] NULL_VALUE = RedisSerializer.java().serialize(NullValue.INSTANCE);
+	
+	private final ReactiveRedisTemplate<String, byte[]> redisTemplate;
+	
+	public ReactiveTokenBlacklist(ReactiveRedisConnectionFactory connectionFactory) {
+		this.redisTemplate = new ReactiveRedisTemplate<>(
+				connectionFactory,
+				RedisSerializationContext.<String, byte[]>newSerializationContext(RedisSerializer.string())
+						.value(RedisSerializer.byteArray())
+						.build()
+		);
+	}
+	
+	/**
+	 * Emits {@code true} when Redis can't be reached, like the servlet filter.
+	 */
+	public Mono<Boolean> isBlacklisted(String jwt) {
+		return redisTemplate.opsForValue()
+				.get(KEY_PREFIX + jwt)
+				.map(value -> !Arrays.equals(value, NULL_VALUE))
+				.defaultIfEmpty(false)
+				.onErrorResume(e -> {
+					log.warn("isBlacklisted[1]: blacklist lookup failed: {}", e.getMessage());
+					return Mono.just(true);
+				});
+	}
+}
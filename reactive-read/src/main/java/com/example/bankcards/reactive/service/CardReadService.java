@@ -0,0 +1,100 @@
+package com.example.bankcards.reactive.service;
+
+import com.example.bankcards.reactive.dto.CardBalanceResponse;
+import com.example.bankcards.reactive.dto.CardDto;
+import com.example.bankcards.reactive.repository.CardReadRepository;
+import com.example.bankcards.reactive.repository.CardRow;
+import com.example.bankcards.reactive.security.AuthenticatedUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read paths of the servlet app's {@code CardServiceImpl}, with the same error messages.
+ * {@code count=approx} is served as an exact count.
+ */
+@Service
+@RequiredArgsConstructor
+public class CardReadService {
+	private static final String CARD_NOT_FOUND_ERROR_MESSAGE = "Card not found";
+	private static final String GET_CARD_FORBIDDEN_ERROR_MESSAGE = "You don't have rights to view this card";
+	private static final String USER_DOESNT_HAVE_CARD_ERROR_MESSAGE = "User %s %s don't has card with id %s";
+	
+	private final CardReadRepository cardReadRepository;
+	
+	public Mono<CardDto> getCardById(AuthenticatedUser user, UUID id) {
+		return cardReadRepository.findSummaryById(id)
+				.switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, CARD_NOT_FOUND_ERROR_MESSAGE)))
+				.flatMap(card -> user.hasRole(AuthenticatedUser.ADMIN) || card.ownerId().equals(user.id())
+						? Mono.just(card.toCardDto())
+						: Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, GET_CARD_FORBIDDEN_ERROR_MESSAGE))
+				);
+	}
+	
+	public Mono<CardBalanceResponse> getCardBalance(AuthenticatedUser user, UUID id) {
+		return cardReadRepository.findSummaryById(id)
+				.filter(card -> card.ownerId().equals(user.id()))
+				.map(card -> new CardBalanceResponse(card.balance(), card.maskedNumber()))
+				.switchIfEmpty(Mono.error(new ResponseStatusException(
+						HttpStatus.NOT_FOUND,
+						String.format(USER_DOESNT_HAVE_CARD_ERROR_MESSAGE, user.firstName(), user.lastName(), id)
+				)));
+	}
+	
+	public Mono<Page<CardDto>> getCards(int page, int size, String search, AuthenticatedUser user) {
+		Pageable pageable = PageRequest.of(page, size);
+		
+		if (search == null || search.isEmpty()) {
+			if (user.hasRole(AuthenticatedUser.USER)) {
+				return findPage("c.user_id = :ownerId", Map.of("ownerId", user.id()), pageable, CardRow::toCardDtoWithBalance);
+			}
+			
+			return findPage(null, Map.of(), pageable, CardRow::toCardDto);
+		}
+		
+		String searchTerm = search.trim();
+		
+		if (searchTerm.matches("\\d{4}")) {
+			return findPage("c.number LIKE :digits", Map.of("digits", like(searchTerm)), pageable, CardRow::toCardDto);
+		}
+		
+		String[] userNames = searchTerm.split(" ");
+		
+		if (userNames.length > 1) {
+			return findPage(
+					"o.first_name LIKE :firstName OR o.last_name LIKE :lastName",
+					Map.of("firstName", like(userNames[0]), "lastName", like(userNames[1])),
+					pageable,
+					CardRow::toCardDto
+			);
+		}
+		
+		return findPage("o.first_name LIKE :firstName", Map.of("firstName", like(searchTerm)), pageable, CardRow::toCardDto);
+	}
+	
+	private Mono<Page<CardDto>> findPage(
+		String where,
+		Map<String, Object> parameters,
+		Pageable pageable,
+		Function<CardRow, CardDto> mapper
+	) {
+		return Mono.zip(
+				cardReadRepository.findSummaries(where, parameters, pageable).map(mapper).collectList(),
+				cardReadRepository.count(where, parameters)
+		).map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+	}
+	
+	private static String like(String term) {
+		return "%" + term + "%";
+	}
+}
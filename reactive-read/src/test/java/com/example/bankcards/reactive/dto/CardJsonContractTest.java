@@ -0,0 +1,57 @@
+package com.example.bankcards.reactive.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Same expected JSON as the servlet app's {@code CardJsonContractTest}, rendered by the auto-configured mapper.
+ */
+@JsonTest
+class CardJsonContractTest {
+	static final String CARD_JSON = """
+			{
+			  "id": "5f0c7b8e-2a41-4c55-9d0e-0d6f3c1a9b21",
+			  "maskedNumber": "**** **** **** 4444",
+			  "owner": {"id": "0b7e6f64-8c1d-4a8e-b1f2-3c4d5e6f7a8b", "displayName": "John Doe"},
+			  "status": "ACTIVE",
+			  "expiryDate": "2027-05-01"
+			}
+			""";
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Test
+	void cardDto_ShouldMatchServletContract() throws Exception {
+		CardDto card = new CardDto(
+				UUID.fromString("5f0c7b8e-2a41-4c55-9d0e-0d6f3c1a9b21"),
+				"**** **** **** 4444",
+				CardOwnerDto.of(UUID.fromString("0b7e6f64-8c1d-4a8e-b1f2-3c4d5e6f7a8b"), "John", "Doe"),
+				"ACTIVE",
+				LocalDate.of(2027, 5, 1),
+				null
+		);
+		
+		JSONAssert.assertEquals(CARD_JSON, objectMapper.writeValueAsString(card), JSONCompareMode.STRICT);
+	}
+	
+	@Test
+	void cardOwnerDto_ShouldJoinOnlyPresentNameParts() {
+		UUID id = UUID.randomUUID();
+		
+		assertEquals("John Doe", CardOwnerDto.of(id, "John", "Doe").displayName());
+		assertEquals("Doe", CardOwnerDto.of(id, null, "Doe").displayName());
+		assertEquals("John", CardOwnerDto.of(id, "John", null).displayName());
+		assertNull(CardOwnerDto.of(id, null, null).displayName());
+	}
+}
@@ -0,0 +1,108 @@
+package com.example.bankcards.reactive.security;
+
+import com.example.bankcards.reactive.repository.UserReadRepository;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtReactiveAuthenticationManagerTest {
+	private static final SecretKey SECRET = Jwts.SIG.HS256.key().build();
+	
+	@Mock
+	private ReactiveTokenBlacklist tokenBlacklist;
+	
+	@Mock
+	private UserReadRepository userReadRepository;
+	
+	private JwtReactiveAuthenticationManager authenticationManager;
+	private AuthenticatedUser user;
+	
+	@BeforeEach
+	void setUp() {
+		authenticationManager = new JwtReactiveAuthenticationManager(SECRET, tokenBlacklist, userReadRepository);
+		user = new AuthenticatedUser(UUID.randomUUID(), "user@example.com", "John", "Doe", null, AuthenticatedUser.USER);
+	}
+	
+	@Test
+	void authenticate_ShouldReturnUser_WhenTokenIsValid() {
+		String jwt = token(SECRET, Instant.now().plusSeconds(60));
+		when(tokenBlacklist.isBlacklisted(jwt)).thenReturn(Mono.just(false));
+		when(userReadRepository.findByEmail("user@example.com")).thenReturn(Mono.just(user));
+		
+		StepVerifier.create(authenticationManager.authenticate(unauthenticated(jwt)))
+				.expectNextMatches(authentication -> authentication.isAuthenticated()
+						&& authentication.getPrincipal().equals(user)
+						&& authentication.getAuthorities().iterator().next().getAuthority().equals("USER"))
+				.verifyComplete();
+	}
+	
+	@Test
+	void authenticate_ShouldFail_WhenTokenIsBlacklisted() {
+		String jwt = token(SECRET, Instant.now().plusSeconds(60));
+		when(tokenBlacklist.isBlacklisted(jwt)).thenReturn(Mono.just(true));
+		
+		StepVerifier.create(authenticationManager.authenticate(unauthenticated(jwt)))
+				.expectError(BadCredentialsException.class)
+				.verify();
+		verify(userReadRepository, never()).findByEmail(anyString());
+	}
+	
+	@Test
+	void authenticate_ShouldFail_WhenTokenIsExpired() {
+		String jwt = token(SECRET, Instant.now().minusSeconds(60));
+		when(tokenBlacklist.isBlacklisted(jwt)).thenReturn(Mono.just(false));
+		
+		StepVerifier.create(authenticationManager.authenticate(unauthenticated(jwt)))
+				.expectError(BadCredentialsException.class)
+				.verify();
+	}
+	
+	@Test
+	void authenticate_ShouldFail_WhenSignedWithAnotherKey() {
+		String jwt = token(Jwts.SIG.HS256.key().build(), Instant.now().plusSeconds(60));
+		when(tokenBlacklist.isBlacklisted(jwt)).thenReturn(Mono.just(false));
+		
+		StepVerifier.create(authenticationManager.authenticate(unauthenticated(jwt)))
+				.expectError(BadCredentialsException.class)
+				.verify();
+	}
+	
+	@Test
+	void authenticate_ShouldFail_WhenUserIsUnknown() {
+		String jwt = token(SECRET, Instant.now().plusSeconds(60));
+		when(tokenBlacklist.isBlacklisted(jwt)).thenReturn(Mono.just(false));
+		when(userReadRepository.findByEmail("user@example.com")).thenReturn(Mono.empty());
+		
+		StepVerifier.create(authenticationManager.authenticate(unauthenticated(jwt)))
+				.expectError(BadCredentialsException.class)
+				.verify();
+	}
+	
+	private static String token(SecretKey key, Instant expiration) {
+		return Jwts.builder()
+				.subject("user@example.com")
+				.expiration(Date.from(expiration))
+				.signWith(key)
+				.compact();
+	}
+	
+	private static UsernamePasswordAuthenticationToken unauthenticated(String jwt) {
+		return UsernamePasswordAuthenticationToken.unauthenticated(jwt, jwt);
+	}
+}
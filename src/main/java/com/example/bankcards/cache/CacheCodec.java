@@ -0,0 +1,9 @@
+package com.example.bankcards.cache;
+
+public enum CacheCodec {
+	/**
+	 * Spring's default, kept for values that are not plain data.
+	 */
+	JDK,
+	SMILE
+}
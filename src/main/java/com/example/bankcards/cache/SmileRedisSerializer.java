@@ -0,0 +1,115 @@
+package com.example.bankcards.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Writes cache values of a single type as Smile, LZ4-compressed once they reach the compression threshold.
+ * The first byte tells whether the payload is compressed. Entries written with JDK serialization before a cache
+ * switched codec are still read through the JDK serializer, so they stay valid until they expire.
+ */
+public class SmileRedisSerializer<T> implements RedisSerializer<T> {
+	private static final byte RAW = 0;
+	private static final byte LZ4 = 1;
+	private static final int LZ4_HEADER_LENGTH = 1 + Integer.BYTES;
+	private static final byte JDK_STREAM_MAGIC_FIRST = (byte) 0xAC;
+	private static final byte JDK_STREAM_MAGIC_SECOND = (byte) 0xED;
+	
+	private static final ObjectMapper MAPPER = new ObjectMapper(new SmileFactory())
+			.registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	private static final LZ4Factory LZ4_FACTORY = LZ4Factory.fastestInstance();
+	private static final RedisSerializer<Object> LEGACY = RedisSerializer.java();
+	
+	private final Class<T> type;
+	private final int compressionThreshold;
+	private final LZ4Compressor compressor = LZ4_FACTORY.fastCompressor();
+	private final LZ4FastDecompressor decompressor = LZ4_FACTORY.fastDecompressor();
+	
+	/**
+	 * @param compressionThreshold payload size in bytes from which values are compressed, negative to never compress
+	 */
+	public SmileRedisSerializer(Class<T> type, int compressionThreshold) {
+		this.type = type;
+		this.compressionThreshold = compressionThreshold;
+	}
+	
+	@Override
+	public byte[] serialize(T value) throws SerializationException {
+		if (value == null) {
+			return null;
+		}
+		
+		byte[] payload;
+		
+		try {
+			payload = MAPPER.writeValueAsBytes(value);
+		} catch (IOException e) {
+			throw new SerializationException("Could not write Smile: " + e.getMessage(), e);
+		}
+		
+		if (compressionThreshold < 0 || payload.length < compressionThreshold) {
+			byte[] raw = new byte[payload.length + 1];
+			raw[0] = RAW;
+			System.arraycopy(payload, 0, raw, 1, payload.length);
+			
+			return raw;
+		}
+		
+		byte[] compressed = new byte[LZ4_HEADER_LENGTH + compressor.maxCompressedLength(payload.length)];
+		ByteBuffer.wrap(compressed).put(LZ4).putInt(payload.length);
+		int length = compressor.compress(payload, 0, payload.length, compressed, LZ4_HEADER_LENGTH);
+		
+		return Arrays.copyOf(compressed, LZ4_HEADER_LENGTH + length);
+	}
+	
+	@Override
+	public T deserialize(byte[] bytes) throws SerializationException {
+		if (bytes == null || bytes.length == 0) {
+			return null;
+		}
+		
+		try {
+			if (bytes[0] == RAW) {
+				return MAPPER.readValue(bytes, 1, bytes.length - 1, type);
+			}
+			
+			if (bytes[0] == LZ4 && bytes.length >= LZ4_HEADER_LENGTH) {
+				int length = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+				byte[] payload = decompressor.decompress(bytes, LZ4_HEADER_LENGTH, length);
+				
+				return MAPPER.readValue(payload, type);
+			}
+		} catch (IOException e) {
+			throw new SerializationException("Could not read Smile: " + e.getMessage(), e);
+		}
+		
+		if (bytes.length > 1 && bytes[0] == JDK_STREAM_MAGIC_FIRST && bytes[1] == JDK_STREAM_MAGIC_SECOND) {
+			return readLegacy(bytes);
+		}
+		
+		return null;
+	}
+	
+	private T readLegacy(byte[] bytes) {
+		Object value = LEGACY.deserialize(bytes);
+		
+		return type.isInstance(value) ? type.cast(value) : null;
+	}
+	
+	@Override
+	public Class<?> getTargetType() {
+		return type;
+	}
+}
@@ -0,0 +1,215 @@
+package com.example.bankcards.cache;
+
+import com.example.bankcards.jfr.CacheAccessEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Caffeine near-cache in front of a Redis cache.
+ * Writes go to Redis first and are then announced so that other nodes drop their local copy.
+ * Local keys are the string form of the cache key, the same form Redis uses.
+ * Every local change bumps a generation, a remote read only fills the near-cache if none happened meanwhile.
+ */
+public class TwoLevelCache implements Cache {
+	private static final String LOCAL_LAYER = "local";
+	private static final String REMOTE_LAYER = "remote";
+	
+	private final Cache remote;
+	private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local;
+	private final BiConsumer<String, String> invalidationPublisher;
+	private final AtomicLong generation = new AtomicLong();
+	
+	private final LongAdder remoteHits = new LongAdder();
+	private final LongAdder remoteMisses = new LongAdder();
+	
+	/**
+	 * @param local {@code null} to bypass the near-cache
+	 */
+	public TwoLevelCache(
+		Cache remote,
+		com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local,
+		BiConsumer<String, String> invalidationPublisher
+	) {
+		this.remote = remote;
+		this.local = local;
+		this.invalidationPublisher = invalidationPublisher;
+	}
+	
+	@Override
+	public String getName() {
+		return remote.getName();
+	}
+	
+	@Override
+	public Object getNativeCache() {
+		return remote.getNativeCache();
+	}
+	
+	@Override
+	public ValueWrapper get(Object key) {
+		CacheAccessEvent event = new CacheAccessEvent();
+		event.begin();
+		String localKey = String.valueOf(key);
+		ValueWrapper cached = getLocal(localKey);
+		
+		if (cached != null) {
+			commit(event, LOCAL_LAYER, true);
+			return cached;
+		}
+		
+		long loadGeneration = generation.get();
+		ValueWrapper value = remote.get(key);
+		
+		if (value == null) {
+			remoteMisses.increment();
+			commit(event, REMOTE_LAYER, false);
+			return null;
+		}
+		
+		remoteHits.increment();
+		commit(event, REMOTE_LAYER, true);
+		putLocal(localKey, value, loadGeneration);
+		return value;
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		Object value = wrapper != null ? wrapper.get() : null;
+		
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException(
+					String.format("Cached value is not of required type [%s]: %s", type.getName(), value)
+			);
+		}
+		
+		return (T) value;
+	}
+	
+	/**
+	 * A local miss costs one Redis lookup, the loader only runs when Redis misses as well.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		CacheAccessEvent event = new CacheAccessEvent();
+		event.begin();
+		String localKey = String.valueOf(key);
+		ValueWrapper cached = getLocal(localKey);
+		
+		if (cached != null) {
+			commit(event, LOCAL_LAYER, true);
+			return (T) cached.get();
+		}
+		
+		long loadGeneration = generation.get();
+		AtomicBoolean loaded = new AtomicBoolean();
+		T value = remote.get(key, () -> {
+			loaded.set(true);
+			return valueLoader.call();
+		});
+		
+		if (loaded.get()) {
+			remoteMisses.increment();
+		} else {
+			remoteHits.increment();
+		}
+		
+		commit(event, REMOTE_LAYER, !loaded.get());
+		putLocal(localKey, new SimpleValueWrapper(value), loadGeneration);
+		return value;
+	}
+	
+	@Override
+	public void put(Object key, Object value) {
+		remote.put(key, value);
+		
+		if (local != null) {
+			generation.incrementAndGet();
+			local.put(String.valueOf(key), new SimpleValueWrapper(value));
+			invalidationPublisher.accept(getName(), String.valueOf(key));
+		}
+	}
+	
+	@Override
+	public void evict(Object key) {
+		remote.evict(key);
+		
+		if (local != null) {
+			generation.incrementAndGet();
+			local.invalidate(String.valueOf(key));
+			invalidationPublisher.accept(getName(), String.valueOf(key));
+		}
+	}
+	
+	@Override
+	public void clear() {
+		remote.clear();
+		
+		if (local != null) {
+			generation.incrementAndGet();
+			local.invalidateAll();
+			invalidationPublisher.accept(getName(), null);
+		}
+	}
+	
+	/**
+	 * Drops a near-cache entry after another node changed it, {@code null} drops all of them.
+	 */
+	public void evictLocal(String key) {
+		if (local == null) {
+			return;
+		}
+		
+		generation.incrementAndGet();
+		
+		if (key == null) {
+			local.invalidateAll();
+			return;
+		}
+		
+		local.invalidate(key);
+	}
+	
+	private ValueWrapper getLocal(String localKey) {
+		return local != null ? local.getIfPresent(localKey) : null;
+	}
+	
+	/**
+	 * Skips the put when any local entry was changed or dropped since the remote read started,
+	 * the value read could predate that change.
+	 */
+	private void putLocal(String localKey, ValueWrapper value, long loadGeneration) {
+		if (local == null) {
+			return;
+		}
+		
+		local.asMap().compute(localKey, (key, current) -> generation.get() == loadGeneration ? value : current);
+	}
+	
+	private void commit(CacheAccessEvent event, String layer, boolean hit) {
+		event.end();
+		
+		if (event.shouldCommit()) {
+			event.cache = getName();
+			event.layer = layer;
+			event.hit = hit;
+			event.commit();
+		}
+	}
+	
+	public long getRemoteHits() {
+		return remoteHits.sum();
+	}
+	
+	public long getRemoteMisses() {
+		return remoteMisses.sum();
+	}
+}
@@ -0,0 +1,125 @@
+package com.example.bankcards.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps every Redis cache in a {@link TwoLevelCache} and keeps the near-caches of all nodes
+ * in sync through Redis pub/sub.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+	private static final String CACHE_MANAGER_TAG = "two-level";
+	private static final String SEPARATOR = "|";
+	
+	private final String nodeId = UUID.randomUUID().toString();
+	private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+	
+	private final CacheManager remoteCacheManager;
+	private final StringRedisTemplate redisTemplate;
+	private final TwoLevelCacheProperties properties;
+	private final MeterRegistry meterRegistry;
+	
+	public TwoLevelCacheManager(
+		CacheManager remoteCacheManager,
+		StringRedisTemplate redisTemplate,
+		TwoLevelCacheProperties properties,
+		MeterRegistry meterRegistry
+	) {
+		this.remoteCacheManager = remoteCacheManager;
+		this.redisTemplate = redisTemplate;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public Cache getCache(String name) {
+		return caches.computeIfAbsent(name, this::createCache);
+	}
+	
+	@Override
+	public Collection<String> getCacheNames() {
+		return remoteCacheManager.getCacheNames();
+	}
+	
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+		
+		if (parts.length < 2 || nodeId.equals(parts[0])) {
+			return;
+		}
+		
+		if (caches.get(parts[1]) instanceof TwoLevelCache cache) {
+			cache.evictLocal(parts.length == 3 ? parts[2] : null);
+		}
+	}
+	
+	private Cache createCache(String name) {
+		Cache remote = remoteCacheManager.getCache(name);
+		
+		if (remote == null) {
+			return null;
+		}
+		
+		TwoLevelCacheProperties.CacheSpec spec = properties.getSpec(name);
+		com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> local = null;
+		
+		if (spec.isLocalEnabled()) {
+			local = Caffeine.newBuilder()
+					.maximumSize(spec.getLocalMaxSize())
+					.expireAfterWrite(spec.getLocalTtl())
+					.recordStats()
+					.build();
+			CaffeineCacheMetrics.monitor(meterRegistry, local, name, Tags.of("cache.manager", CACHE_MANAGER_TAG, "layer", "local"));
+		}
+		
+		TwoLevelCache cache = new TwoLevelCache(remote, local, this::publishInvalidation);
+		bindRemoteMetrics(cache);
+		log.info("createCache[1]: cache {} created, near-cache enabled: {}", name, spec.isLocalEnabled());
+		
+		return cache;
+	}
+	
+	private void bindRemoteMetrics(TwoLevelCache cache) {
+		Tags tags = Tags.of("cache", cache.getName(), "cache.manager", CACHE_MANAGER_TAG, "layer", "remote");
+		
+		FunctionCounter.builder("cache.gets", cache, TwoLevelCache::getRemoteHits)
+				.tags(tags)
+				.tag("result", "hit")
+				.description("The number of times cache lookup methods have returned a cached value.")
+				.register(meterRegistry);
+		FunctionCounter.builder("cache.gets", cache, TwoLevelCache::getRemoteMisses)
+				.tags(tags)
+				.tag("result", "miss")
+				.description("The number of times cache lookup methods have returned an uncached (newly loaded) value, or null")
+				.register(meterRegistry);
+	}
+	
+	private void publishInvalidation(String cacheName, String key) {
+		String message = key == null
+				? nodeId + SEPARATOR + cacheName
+				: nodeId + SEPARATOR + cacheName + SEPARATOR + key;
+		
+		try {
+			redisTemplate.convertAndSend(properties.getInvalidationChannel(), message);
+		} catch (RuntimeException e) {
+			log.warn("publishInvalidation[1]: failed to publish invalidation for cache {}: {}", cacheName, e.getMessage());
+		}
+	}
+}
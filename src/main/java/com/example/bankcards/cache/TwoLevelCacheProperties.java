@@ -0,0 +1,46 @@
+package com.example.bankcards.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "cache")
+public class TwoLevelCacheProperties {
+	/**
+	 * Redis pub/sub channel used to drop near-cache entries on the other nodes.
+	 */
+	private String invalidationChannel = "cache-invalidation";
+	
+	private Map<String, CacheSpec> caches = new HashMap<>();
+	
+	public CacheSpec getSpec(String name) {
+		return caches.getOrDefault(name, new CacheSpec());
+	}
+	
+	@Data
+	public static class CacheSpec {
+		private Duration ttl = Duration.ofMinutes(10);
+		private CacheCodec codec = CacheCodec.JDK;
+		
+		/**
+		 * Type of the cached values, required by the {@code SMILE} codec.
+		 */
+		private Class<?> valueType;
+		
+		/**
+		 * Encoded value size in bytes from which values are LZ4-compressed, negative to never compress.
+		 */
+		private int compressionThreshold = -1;
+		
+		/**
+		 * Disable for caches that must be strongly consistent, every lookup then goes to Redis.
+		 */
+		private boolean localEnabled = true;
+		private long localMaxSize = 10_000;
+		private Duration localTtl = Duration.ofSeconds(30);
+	}
+}
@@ -0,0 +1,99 @@
+package com.example.bankcards.coalescing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-flight for {@link Coalesce} methods: the first caller runs the method, callers with the same
+ * (method, arguments, principal) arriving meanwhile wait for its result instead of querying again.
+ * <p>
+ * Runs outermost, so the shared execution includes the workload bulkhead and the transaction. A follower
+ * waits at most {@code coalescing.max-wait}, then runs the method itself. Calls made inside an existing
+ * transaction are never coalesced, they could otherwise miss that transaction's own writes.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CoalescingAspect {
+	private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+	private final MeterRegistry meterRegistry;
+	private final long maxWaitMs;
+	
+	public CoalescingAspect(MeterRegistry meterRegistry, @Value("${coalescing.max-wait}") Duration maxWait) {
+		this.meterRegistry = meterRegistry;
+		this.maxWaitMs = maxWait.toMillis();
+	}
+	
+	@Around("@annotation(com.example.bankcards.coalescing.Coalesce)")
+	public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			return joinPoint.proceed();
+		}
+		
+		Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		Key key = new Key(method, Arrays.asList(joinPoint.getArgs()), authentication != null ? authentication.getName() : null);
+		String methodName = joinPoint.getSignature().toShortString();
+		
+		CompletableFuture<Object> call = new CompletableFuture<>();
+		CompletableFuture<Object> leader = inFlight.putIfAbsent(key, call);
+		
+		if (leader == null) {
+			count(methodName, "leader");
+			
+			try {
+				Object result = joinPoint.proceed();
+				call.complete(result);
+				return result;
+			} catch (Throwable e) {
+				call.completeExceptionally(e);
+				throw e;
+			} finally {
+				inFlight.remove(key, call);
+			}
+		}
+		
+		try {
+			Object result = leader.get(maxWaitMs, TimeUnit.MILLISECONDS);
+			count(methodName, "follower");
+			return result;
+		} catch (ExecutionException e) {
+			count(methodName, "follower");
+			throw e.getCause();
+		} catch (TimeoutException e) {
+			log.debug("coalesce[1]: gave up waiting for {} after {} ms, running it again", methodName, maxWaitMs);
+			count(methodName, "timeout");
+			return joinPoint.proceed();
+		}
+	}
+	
+	private void count(String methodName, String result) {
+		meterRegistry.counter("coalescing.calls", "method", methodName, "result", result).increment();
+	}
+	
+	private record Key(Method method, List<Object> args, String principal) {
+	}
+}
@@ -1,8 +1,11 @@
 package com.example.bankcards.config;
 
+import com.example.bankcards.metrics.TimedPasswordEncoder;
 import com.example.bankcards.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,11 +20,13 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class AppConfig {
 	private final UserRepository userRepository;
+	private final MeterRegistry meterRegistry;
 	
 	@Bean
 	public ObjectMapper objectMapper() {
 		ObjectMapper objectMapper = new ObjectMapper();
 		objectMapper.registerModule(new JavaTimeModule());
+		objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 		
 		return objectMapper;
 	}
@@ -43,7 +48,7 @@ public class AppConfig {
 	
 	@Bean
 	public PasswordEncoder bCryptPasswordEncoder() {
-		return new BCryptPasswordEncoder();
+		return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
 	}
 	
 }
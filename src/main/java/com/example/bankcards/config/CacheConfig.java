@@ -0,0 +1,93 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.cache.CacheCodec;
+import com.example.bankcards.cache.SmileRedisSerializer;
+import com.example.bankcards.cache.TwoLevelCacheManager;
+import com.example.bankcards.cache.TwoLevelCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(TwoLevelCacheProperties.class)
+public class CacheConfig {
+	@Value("${spring.data.redis.host}")
+	private String redisHost;
+	@Value("${spring.data.redis.port}")
+	private int redisPort;
+	
+	@Bean
+	public LettuceConnectionFactory redisConnectionFactory() {
+		return new LettuceConnectionFactory(new RedisStandaloneConfiguration(redisHost, redisPort));
+	}
+	
+	/**
+	 * The Redis cache manager is kept out of the context so that only the two-level manager serves {@code @Cacheable}.
+	 */
+	@Bean
+	public TwoLevelCacheManager cacheManager(
+		RedisConnectionFactory connectionFactory,
+		StringRedisTemplate redisTemplate,
+		TwoLevelCacheProperties properties,
+		MeterRegistry meterRegistry
+	) {
+		Map<String, RedisCacheConfiguration> configurationMap = new HashMap<>();
+		
+		properties.getCaches().forEach((name, spec) -> configurationMap.put(name, redisCacheConfiguration(spec)));
+		
+		RedisCacheManager redisCacheManager = RedisCacheManager
+				.builder(connectionFactory)
+				.withInitialCacheConfigurations(configurationMap)
+				.build();
+		redisCacheManager.afterPropertiesSet();
+		
+		return new TwoLevelCacheManager(redisCacheManager, redisTemplate, properties, meterRegistry);
+	}
+	
+	private static RedisCacheConfiguration redisCacheConfiguration(TwoLevelCacheProperties.CacheSpec spec) {
+		RedisCacheConfiguration configuration = RedisCacheConfiguration
+				.defaultCacheConfig()
+				.entryTtl(spec.getTtl())
+				.serializeKeysWith(SerializationPair.fromSerializer(RedisSerializer.string()));
+		
+		if (spec.getCodec() == CacheCodec.SMILE) {
+			if (spec.getValueType() == null) {
+				throw new IllegalStateException("value-type is required for the SMILE cache codec");
+			}
+			
+			configuration = configuration.serializeValuesWith(SerializationPair.fromSerializer(
+					new SmileRedisSerializer<>(spec.getValueType(), spec.getCompressionThreshold())
+			));
+		}
+		
+		return configuration;
+	}
+	
+	@Bean
+	public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+		RedisConnectionFactory connectionFactory,
+		TwoLevelCacheManager cacheManager,
+		TwoLevelCacheProperties properties
+	) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		container.addMessageListener(cacheManager, new ChannelTopic(properties.getInvalidationChannel()));
+		
+		return container;
+	}
+}
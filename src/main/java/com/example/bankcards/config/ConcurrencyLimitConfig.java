@@ -0,0 +1,34 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.throttling.ConcurrencyLimitFilter;
+import com.example.bankcards.throttling.ConcurrencyLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+	
+	/**
+	 * Registered ahead of the Spring Security chain, and with it {@code RequestFilter}.
+	 */
+	@Bean
+	public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+		ConcurrencyLimitProperties properties,
+		ObjectMapper objectMapper,
+		MeterRegistry meterRegistry
+	) {
+		FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+				new ConcurrencyLimitFilter(properties, objectMapper, meterRegistry)
+		);
+		registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+		return registration;
+	}
+}
@@ -0,0 +1,125 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.datasource.DataSourceRoute;
+import com.example.bankcards.datasource.QueryAccountingDataSource;
+import com.example.bankcards.datasource.ReadReplicaRoutingDataSource;
+import com.example.bankcards.datasource.ReadYourWritesTracker;
+import com.example.bankcards.datasource.WorkloadPoolProperties;
+import com.example.bankcards.datasource.WorkloadRoutingDataSource;
+import com.example.bankcards.enums.WorkloadClass;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One primary pool per {@link WorkloadClass}, plus a read replica when {@code datasource.replica.enabled} is set.
+ */
+@Configuration
+@EnableConfigurationProperties(WorkloadPoolProperties.class)
+public class DataSourceConfig {
+	@Value("${datasource.replica.url}")
+	private String replicaUrl;
+	@Value("${datasource.replica.username}")
+	private String replicaUsername;
+	@Value("${datasource.replica.password}")
+	private String replicaPassword;
+	
+	@Value("${datasource.replica.stickToPrimaryInMs}")
+	private long stickToPrimaryInMs;
+	
+	@Value("${request-cost.enabled}")
+	private boolean queryAccountingEnabled;
+	
+	@Bean
+	public WorkloadRoutingDataSource workloadDataSource(
+		DataSourceProperties properties,
+		WorkloadPoolProperties poolProperties,
+		MeterRegistry meterRegistry
+	) {
+		Map<WorkloadClass, HikariDataSource> pools = new EnumMap<>(WorkloadClass.class);
+		
+		for (WorkloadClass workloadClass : WorkloadClass.values()) {
+			WorkloadPoolProperties.Pool pool = poolProperties.getPool(workloadClass);
+			
+			HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+			dataSource.setPoolName(workloadClass.getPoolName());
+			dataSource.setMaximumPoolSize(pool.getMaximumPoolSize());
+			dataSource.setMinimumIdle(pool.getMinimumIdle());
+			dataSource.setConnectionTimeout(pool.getConnectionTimeout().toMillis());
+			dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+			
+			pools.put(workloadClass, dataSource);
+		}
+		
+		return new WorkloadRoutingDataSource(pools);
+	}
+	
+	@Bean
+	@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+	@ConfigurationProperties("datasource.replica.hikari")
+	public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setPoolName("replica");
+		dataSource.setDriverClassName(properties.getDriverClassName());
+		dataSource.setJdbcUrl(replicaUrl);
+		dataSource.setUsername(replicaUsername);
+		dataSource.setPassword(replicaPassword);
+		dataSource.setReadOnly(true);
+		
+		return dataSource;
+	}
+	
+	@Bean
+	@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+	public ReadYourWritesTracker readYourWritesTracker(StringRedisTemplate redisTemplate) {
+		return new ReadYourWritesTracker(redisTemplate, Duration.ofMillis(stickToPrimaryInMs));
+	}
+	
+	@Bean
+	@Primary
+	public DataSource dataSource(
+		@Qualifier("workloadDataSource") DataSource workloadDataSource,
+		@Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+		ObjectProvider<ReadYourWritesTracker> tracker
+	) {
+		DataSource replica = replicaDataSource.getIfAvailable();
+		
+		if (replica == null) {
+			return accounted(new LazyConnectionDataSourceProxy(workloadDataSource));
+		}
+		
+		ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(tracker.getObject());
+		routingDataSource.setTargetDataSources(Map.of(
+				DataSourceRoute.PRIMARY, workloadDataSource,
+				DataSourceRoute.REPLICA, replica
+		));
+		routingDataSource.setDefaultTargetDataSource(workloadDataSource);
+		routingDataSource.afterPropertiesSet();
+		
+		return accounted(new LazyConnectionDataSourceProxy(routingDataSource));
+	}
+	
+	/**
+	 * Outermost, so every statement is accounted whichever pool ends up serving it.
+	 */
+	private DataSource accounted(DataSource dataSource) {
+		return queryAccountingEnabled ? new QueryAccountingDataSource(dataSource) : dataSource;
+	}
+}
@@ -0,0 +1,40 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.throttling.GcraRateLimiter;
+import com.example.bankcards.throttling.RateLimitFilter;
+import com.example.bankcards.throttling.RateLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "rate-limit", name = "enabled", havingValue = "true")
+public class RateLimitConfig {
+	
+	@Bean
+	public GcraRateLimiter gcraRateLimiter(StringRedisTemplate redisTemplate, RateLimitProperties properties) {
+		return new GcraRateLimiter(redisTemplate, properties.getLeaseSize(), properties.getLeaseTtl());
+	}
+	
+	/**
+	 * Registered behind the Spring Security chain, so the authenticated user is already in the context.
+	 */
+	@Bean
+	public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+		RateLimitProperties properties,
+		GcraRateLimiter rateLimiter,
+		ObjectMapper objectMapper
+	) {
+		FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+				new RateLimitFilter(properties, rateLimiter, objectMapper)
+		);
+		registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 10);
+		return registration;
+	}
+}
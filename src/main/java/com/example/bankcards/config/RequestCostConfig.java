@@ -0,0 +1,29 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.metrics.RequestCostFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "request-cost", name = "enabled", havingValue = "true")
+public class RequestCostConfig {
+	@Value("${request-cost.debug-header}")
+	private boolean debugHeader;
+	
+	/**
+	 * Registered ahead of the Spring Security chain, so the user lookups of {@code RequestFilter} and the login are accounted too.
+	 */
+	@Bean
+	public FilterRegistrationBean<RequestCostFilter> requestCostFilter(MeterRegistry meterRegistry) {
+		FilterRegistrationBean<RequestCostFilter> registration = new FilterRegistrationBean<>(
+				new RequestCostFilter(meterRegistry, debugHeader)
+		);
+		registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 5);
+		return registration;
+	}
+}
@@ -1,7 +1,9 @@
 package com.example.bankcards.config;
 
+import com.example.bankcards.enums.Role;
 import com.example.bankcards.security.JwtAuthenticationEntryPoint;
 import com.example.bankcards.security.RequestFilter;
+import com.example.bankcards.util.Constants;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -40,7 +42,11 @@ public class SecurityConfig {
 				.cors(cors -> cors.configurationSource(request -> corsConfiguration()))
 				.exceptionHandling(exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
 				.authorizeHttpRequests(request -> request
-						.requestMatchers("/api/auth/**", "/v3/api-docs/**", "/swagger-ui/**").permitAll()
+						.requestMatchers(Constants.ENDPOINT_WHITELIST.toArray(String[]::new)).permitAll()
+						.requestMatchers(
+								"/actuator/jfr", "/actuator/jfr/**",
+								"/actuator/requesttimings", "/actuator/requesttimings/**"
+						).hasAuthority(Role.ADMIN.getAuthority())
 						.anyRequest().authenticated())
 				.sessionManagement(manager -> manager.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 				.authenticationProvider(authenticationProvider)
@@ -4,6 +4,7 @@ import com.example.bankcards.dto.CardDto;
 import com.example.bankcards.dto.request.CreateCardRequest;
 import com.example.bankcards.dto.response.CardBalanceResponse;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.CountMode;
 import com.example.bankcards.service.CardService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
@@ -81,8 +82,10 @@ public class CardController {
 			int size,
 			@RequestParam(required = false)
 			String q,
+			@RequestParam(required = false, defaultValue = "exact")
+			String count,
 			@AuthenticationPrincipal User user
 	) {
-		return ResponseEntity.ok(cardService.getCards(page - 1, size, q, user));
+		return ResponseEntity.ok(cardService.getCards(page - 1, size, q, user, CountMode.fromValue(count)));
 	}
 }
@@ -2,6 +2,7 @@ package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.UserDto;
 import com.example.bankcards.dto.request.RegisterRequest;
+import com.example.bankcards.enums.CountMode;
 import com.example.bankcards.service.UserService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
@@ -30,9 +31,11 @@ public class UserController {
 			@Min(1) @Max(100)
 			int size,
 			@RequestParam(required = false)
-			String q
+			String q,
+			@RequestParam(required = false, defaultValue = "exact")
+			String count
 	) {
-		return ResponseEntity.ok(userService.getUsers(page - 1, size, q));
+		return ResponseEntity.ok(userService.getUsers(page - 1, size, q, CountMode.fromValue(count)));
 	}
 	
 	@GetMapping("/{id}")
@@ -0,0 +1,6 @@
+package com.example.bankcards.datasource;
+
+public enum DataSourceRoute {
+	PRIMARY,
+	REPLICA
+}
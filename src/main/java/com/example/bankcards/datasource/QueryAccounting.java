@@ -0,0 +1,70 @@
+package com.example.bankcards.datasource;
+
+/**
+ * Per-thread tally of the JDBC work done by {@link QueryAccountingDataSource}, opened and closed around each HTTP request.
+ */
+public final class QueryAccounting {
+	private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+	
+	private QueryAccounting() {
+	}
+	
+	/**
+	 * @return the tally of the current thread, or {@code null} when nothing is being accounted
+	 */
+	public static Tally current() {
+		return CURRENT.get();
+	}
+	
+	/**
+	 * @return the previous tally, to be passed back to {@link #restore(Tally)}
+	 */
+	public static Tally begin() {
+		Tally previous = CURRENT.get();
+		CURRENT.set(new Tally());
+		
+		return previous;
+	}
+	
+	public static void restore(Tally previous) {
+		if (previous == null) {
+			CURRENT.remove();
+			return;
+		}
+		
+		CURRENT.set(previous);
+	}
+	
+	/**
+	 * Only ever touched by its own thread, so plain fields are enough.
+	 */
+	public static final class Tally {
+		private int statements;
+		private long rows;
+		private long nanos;
+		
+		void statementExecuted(long elapsedNanos) {
+			statements++;
+			nanos += elapsedNanos;
+		}
+		
+		void rowFetched() {
+			rows++;
+		}
+		
+		public int getStatements() {
+			return statements;
+		}
+		
+		/**
+		 * Rows fetched from result sets.
+		 */
+		public long getRows() {
+			return rows;
+		}
+		
+		public long getNanos() {
+			return nanos;
+		}
+	}
+}
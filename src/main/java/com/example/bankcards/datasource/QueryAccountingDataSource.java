@@ -0,0 +1,98 @@
+package com.example.bankcards.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps connections and statements in JDK proxies that feed the {@link QueryAccounting} tally of the calling thread:
+ * every {@code execute*} call counts as one statement and its wall time as DB time. Result sets are wrapped in a
+ * {@link CountingResultSet}, a plain delegate that counts every successful {@code next()} as one fetched row,
+ * so column reads don't go through reflection.
+ */
+public class QueryAccountingDataSource extends DelegatingDataSource {
+	private static final ClassLoader CLASS_LOADER = QueryAccountingDataSource.class.getClassLoader();
+	
+	public QueryAccountingDataSource(DataSource targetDataSource) {
+		super(targetDataSource);
+	}
+	
+	@Override
+	public Connection getConnection() throws SQLException {
+		return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+	}
+	
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+	}
+	
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return type.cast(Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[] {type}, handler));
+	}
+	
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+	
+	private record ConnectionHandler(Connection target) implements InvocationHandler {
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result = QueryAccountingDataSource.invoke(target, method, args);
+			
+			return switch (method.getName()) {
+				case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result));
+				case "prepareStatement" -> proxy(PreparedStatement.class, new StatementHandler((Statement) result));
+				case "prepareCall" -> proxy(CallableStatement.class, new StatementHandler((Statement) result));
+				default -> result;
+			};
+		}
+	}
+	
+	private record StatementHandler(Statement target) implements InvocationHandler {
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			QueryAccounting.Tally tally = QueryAccounting.current();
+			
+			if (tally == null) {
+				return QueryAccountingDataSource.invoke(target, method, args);
+			}
+			
+			Object result;
+			
+			if (method.getName().startsWith("execute")) {
+				long start = System.nanoTime();
+				
+				try {
+					result = QueryAccountingDataSource.invoke(target, method, args);
+				} finally {
+					tally.statementExecuted(System.nanoTime() - start);
+				}
+			} else {
+				result = QueryAccountingDataSource.invoke(target, method, args);
+			}
+			
+			if (result instanceof ResultSet resultSet) {
+				return new CountingResultSet(resultSet, tally);
+			}
+			
+			return result;
+		}
+	}
+}
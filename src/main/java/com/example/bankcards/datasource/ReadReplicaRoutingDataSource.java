@@ -0,0 +1,67 @@
+package com.example.bankcards.datasource;
+
+import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.WorkloadClass;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * Users pinned by {@link ReadYourWritesTracker} read from the primary as well, and every read-write
+ * transaction pins its user once it commits. The {@link WorkloadClass#AUTH} workload always uses the primary:
+ * it runs without an authenticated user to pin and reads what it just wrote, e.g. the user a registration
+ * saved before authenticating them, or the refresh token a login issued.
+ * <p>
+ * Must be wrapped in a {@code LazyConnectionDataSourceProxy}: the route is only known once the
+ * transaction's read-only flag is set, after the transaction manager asked for a connection.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+	private final ReadYourWritesTracker tracker;
+	
+	public ReadReplicaRoutingDataSource(ReadYourWritesTracker tracker) {
+		this.tracker = tracker;
+	}
+	
+	@Override
+	protected Object determineCurrentLookupKey() {
+		UUID userId = currentUserId();
+		
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+				TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+					@Override
+					public void afterCommit() {
+						tracker.markWrite(userId);
+					}
+				});
+			}
+			
+			return DataSourceRoute.PRIMARY;
+		}
+		
+		if (WorkloadContext.current() == WorkloadClass.AUTH) {
+			return DataSourceRoute.PRIMARY;
+		}
+		
+		if (userId != null && tracker.isPinned(userId)) {
+			return DataSourceRoute.PRIMARY;
+		}
+		
+		return DataSourceRoute.REPLICA;
+	}
+	
+	private static UUID currentUserId() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		
+		if (authentication != null && authentication.getPrincipal() instanceof User user) {
+			return user.getId();
+		}
+		
+		return null;
+	}
+}
@@ -0,0 +1,58 @@
+package com.example.bankcards.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Remembers users that committed a write during the last {@code stickToPrimary} window, their reads must not
+ * hit a replica that may still lag behind. Pins are kept in Redis so that every node sees them, with a local
+ * copy for the node that took the write.
+ */
+@Slf4j
+public class ReadYourWritesTracker {
+	private static final String KEY_PREFIX = "primary-pin:";
+	
+	private final StringRedisTemplate redisTemplate;
+	private final Duration stickToPrimary;
+	private final Cache<UUID, Boolean> localPins;
+	
+	public ReadYourWritesTracker(StringRedisTemplate redisTemplate, Duration stickToPrimary) {
+		this.redisTemplate = redisTemplate;
+		this.stickToPrimary = stickToPrimary;
+		this.localPins = Caffeine.newBuilder()
+				.expireAfterWrite(stickToPrimary)
+				.maximumSize(100_000)
+				.build();
+	}
+	
+	public void markWrite(UUID userId) {
+		localPins.put(userId, Boolean.TRUE);
+		
+		try {
+			redisTemplate.opsForValue().set(KEY_PREFIX + userId, "1", stickToPrimary);
+		} catch (RuntimeException e) {
+			log.warn("markWrite[1]: failed to pin user {} to primary: {}", userId, e.getMessage());
+		}
+	}
+	
+	/**
+	 * Falls back to {@code true} when Redis is unavailable, a primary read is never stale.
+	 */
+	public boolean isPinned(UUID userId) {
+		if (localPins.getIfPresent(userId) != null) {
+			return true;
+		}
+		
+		try {
+			return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + userId));
+		} catch (RuntimeException e) {
+			log.warn("isPinned[1]: failed to check primary pin of user {}: {}", userId, e.getMessage());
+			return true;
+		}
+	}
+}
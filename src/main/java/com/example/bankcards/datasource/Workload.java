@@ -0,0 +1,18 @@
+package com.example.bankcards.datasource;
+
+import com.example.bankcards.enums.WorkloadClass;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated service class or method on the connection pool of the given workload class.
+ * A method annotation overrides the class one.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Workload {
+	WorkloadClass value();
+}
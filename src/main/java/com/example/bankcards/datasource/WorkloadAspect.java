@@ -0,0 +1,104 @@
+package com.example.bankcards.datasource;
+
+import com.example.bankcards.enums.WorkloadClass;
+import com.example.bankcards.util.Constants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs before the transaction interceptor, so the transaction's connection comes from the workload's pool.
+ * <p>
+ * With {@code datasource.bulkhead.enabled} every workload class also admits only as many concurrent calls
+ * as its pool has connections. Callers wait up to the pool's connection timeout and are then rejected,
+ * so an unbounded number of virtual threads can't pile up in front of Hikari.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class WorkloadAspect {
+	private final Map<WorkloadClass, Semaphore> bulkheads = new EnumMap<>(WorkloadClass.class);
+	private final Map<WorkloadClass, Counter> rejections = new EnumMap<>(WorkloadClass.class);
+	private final WorkloadPoolProperties poolProperties;
+	
+	public WorkloadAspect(
+		WorkloadPoolProperties poolProperties,
+		MeterRegistry meterRegistry,
+		@Value("${datasource.bulkhead.enabled}") boolean bulkheadEnabled
+	) {
+		this.poolProperties = poolProperties;
+		
+		if (!bulkheadEnabled) {
+			return;
+		}
+		
+		for (WorkloadClass workloadClass : WorkloadClass.values()) {
+			bulkheads.put(workloadClass, new Semaphore(poolProperties.getPool(workloadClass).getMaximumPoolSize(), true));
+			rejections.put(workloadClass, Counter.builder("workload.bulkhead.rejected")
+					.tag("workload", workloadClass.getPoolName())
+					.register(meterRegistry));
+		}
+	}
+	
+	@Around("@within(com.example.bankcards.datasource.Workload) || @annotation(com.example.bankcards.datasource.Workload)")
+	public Object withWorkload(ProceedingJoinPoint joinPoint) throws Throwable {
+		WorkloadClass workloadClass = resolve(joinPoint);
+		
+		if (workloadClass == WorkloadContext.current()) {
+			return joinPoint.proceed();
+		}
+		
+		Semaphore bulkhead = bulkheads.get(workloadClass);
+		
+		if (bulkhead != null && !bulkhead.tryAcquire(
+				poolProperties.getPool(workloadClass).getConnectionTimeout().toMillis(), TimeUnit.MILLISECONDS
+		)) {
+			log.warn("withWorkload[1]: {} bulkhead is full, rejecting {}", workloadClass, joinPoint.getSignature().toShortString());
+			rejections.get(workloadClass).increment();
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, Constants.SERVICE_BUSY_ERROR_MESSAGE);
+		}
+		
+		WorkloadClass previous = WorkloadContext.enter(workloadClass);
+		
+		try {
+			return joinPoint.proceed();
+		} finally {
+			WorkloadContext.restore(previous);
+			
+			if (bulkhead != null) {
+				bulkhead.release();
+			}
+		}
+	}
+	
+	private static WorkloadClass resolve(ProceedingJoinPoint joinPoint) {
+		Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+		Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(), targetClass);
+		Workload workload = AnnotatedElementUtils.findMergedAnnotation(method, Workload.class);
+		
+		if (workload == null) {
+			workload = AnnotatedElementUtils.findMergedAnnotation(targetClass, Workload.class);
+		}
+		
+		return workload != null ? workload.value() : WorkloadClass.DEFAULT;
+	}
+}
@@ -0,0 +1,33 @@
+package com.example.bankcards.datasource;
+
+import com.example.bankcards.enums.WorkloadClass;
+
+public final class WorkloadContext {
+	private static final ThreadLocal<WorkloadClass> CURRENT = ThreadLocal.withInitial(() -> WorkloadClass.DEFAULT);
+	
+	private WorkloadContext() {
+	}
+	
+	public static WorkloadClass current() {
+		return CURRENT.get();
+	}
+	
+	/**
+	 * @return the previous workload class, to be passed back to {@link #restore(WorkloadClass)}
+	 */
+	public static WorkloadClass enter(WorkloadClass workloadClass) {
+		WorkloadClass previous = CURRENT.get();
+		CURRENT.set(workloadClass);
+		
+		return previous;
+	}
+	
+	public static void restore(WorkloadClass previous) {
+		if (previous == WorkloadClass.DEFAULT) {
+			CURRENT.remove();
+			return;
+		}
+		
+		CURRENT.set(previous);
+	}
+}
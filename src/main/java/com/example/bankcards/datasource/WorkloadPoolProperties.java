@@ -0,0 +1,30 @@
+package com.example.bankcards.datasource;
+
+import com.example.bankcards.enums.WorkloadClass;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "datasource")
+public class WorkloadPoolProperties {
+	private Map<WorkloadClass, Pool> pools = new EnumMap<>(WorkloadClass.class);
+	
+	public Pool getPool(WorkloadClass workloadClass) {
+		return pools.getOrDefault(workloadClass, new Pool());
+	}
+	
+	@Data
+	public static class Pool {
+		private int maximumPoolSize = 10;
+		
+		/**
+		 * Negative keeps the pool at {@code maximumPoolSize}.
+		 */
+		private int minimumIdle = -1;
+		private Duration connectionTimeout = Duration.ofSeconds(30);
+	}
+}
@@ -0,0 +1,32 @@
+package com.example.bankcards.datasource;
+
+import com.example.bankcards.enums.WorkloadClass;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections from the pool of the current {@link WorkloadContext}.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+	private final Map<WorkloadClass, HikariDataSource> pools;
+	
+	public WorkloadRoutingDataSource(Map<WorkloadClass, HikariDataSource> pools) {
+		this.pools = pools;
+		setTargetDataSources(new HashMap<>(pools));
+		setDefaultTargetDataSource(pools.get(WorkloadClass.DEFAULT));
+	}
+	
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return WorkloadContext.current();
+	}
+	
+	@Override
+	public void destroy() {
+		pools.values().forEach(HikariDataSource::close);
+	}
+}
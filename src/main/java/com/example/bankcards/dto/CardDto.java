@@ -1,6 +1,5 @@
 package com.example.bankcards.dto;
 
-import com.example.bankcards.entity.User;
 import com.example.bankcards.enums.BankCardStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,7 +16,7 @@ import java.util.UUID;
 public class CardDto {
 	private UUID id;
 	private String maskedNumber;
-	private User owner;
+	private CardOwnerDto owner;
 	private BankCardStatus status;
 	private LocalDate expiryDate;
 }
@@ -1,6 +1,6 @@
 package com.example.bankcards.dto;
 
-import com.example.bankcards.entity.Card;
+import com.example.bankcards.dto.projection.CardSummary;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -13,14 +13,14 @@ import java.math.BigDecimal;
 public class CardDtoWithBalance extends CardDto {
 	private BigDecimal balance;
 	
-	public CardDtoWithBalance(Card card) {
+	public CardDtoWithBalance(CardSummary card) {
 		super(
-			card.getId(),
-			card.getMaskedNumber(),
-			card.getOwner(),
-			card.getStatus(),
-			card.getExpiryDate()
+			card.id(),
+			card.maskedNumber(),
+			card.owner(),
+			card.status(),
+			card.expiryDate()
 		);
-		this.balance = card.getBalance();
+		this.balance = card.balance();
 	}
 }
@@ -0,0 +1,28 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardOwnerDto {
+	private UUID id;
+	private String displayName;
+	
+	/**
+	 * Joins the name parts that are present, {@code null} when neither is.
+	 */
+	public static CardOwnerDto of(UUID id, String firstName, String lastName) {
+		if (firstName == null || lastName == null) {
+			return new CardOwnerDto(id, firstName != null ? firstName : lastName);
+		}
+		
+		return new CardOwnerDto(id, firstName + " " + lastName);
+	}
+}
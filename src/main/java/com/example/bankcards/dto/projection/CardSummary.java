@@ -0,0 +1,31 @@
+package com.example.bankcards.dto.projection;
+
+import com.example.bankcards.dto.CardOwnerDto;
+import com.example.bankcards.enums.BankCardStatus;
+import com.example.bankcards.util.CardUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Card row fetched by a JPQL constructor expression, carrying only the owner columns the API exposes.
+ */
+public record CardSummary(
+		UUID id,
+		String number,
+		BankCardStatus status,
+		LocalDate expiryDate,
+		BigDecimal balance,
+		UUID ownerId,
+		String ownerFirstName,
+		String ownerLastName
+) {
+	public String maskedNumber() {
+		return CardUtils.maskNumber(number);
+	}
+	
+	public CardOwnerDto owner() {
+		return CardOwnerDto.of(ownerId, ownerFirstName, ownerLastName);
+	}
+}
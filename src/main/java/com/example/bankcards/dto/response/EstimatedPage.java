@@ -0,0 +1,42 @@
+package com.example.bankcards.dto.response;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Page whose total is taken from planner statistics or a cached count
+ * instead of an exact {@code count(*)}.
+ */
+public class EstimatedPage<T> extends PageImpl<T> {
+	public EstimatedPage(List<T> content, Pageable pageable, long estimatedTotal) {
+		super(content, pageable, estimatedTotal);
+	}
+	
+	/**
+	 * Builds a page from a slice, asking for the estimate only when the slice can't tell the total itself.
+	 */
+	public static <T> EstimatedPage<T> of(Slice<T> slice, LongSupplier estimatedTotal) {
+		Pageable pageable = slice.getPageable();
+		long seen = pageable.getOffset() + slice.getNumberOfElements();
+		
+		if (slice.hasContent() && !slice.hasNext()) {
+			return new EstimatedPage<>(slice.getContent(), pageable, seen);
+		}
+		
+		long total = estimatedTotal.getAsLong();
+		
+		if (slice.hasNext()) {
+			total = Math.max(total, seen + 1);
+		}
+		
+		return new EstimatedPage<>(slice.getContent(), pageable, total);
+	}
+	
+	public boolean isEstimated() {
+		return true;
+	}
+}
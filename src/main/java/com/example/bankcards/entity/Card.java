@@ -1,6 +1,8 @@
 package com.example.bankcards.entity;
 
 import com.example.bankcards.enums.BankCardStatus;
+import com.example.bankcards.util.CardUtils;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
@@ -8,7 +10,9 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -34,8 +38,10 @@ public class Card {
 	@Builder.Default
 	private BigDecimal balance = new BigDecimal(0);
 	
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id", nullable = false)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	private User owner;
 	
 	@Enumerated(EnumType.STRING)
@@ -45,23 +51,14 @@ public class Card {
 	@JsonSerialize(using = JsonSerializer.class)
 	private LocalDate expiryDate;
 	
+	/**
+	 * Makes a write based on a stale read fail instead of putting back an old balance.
+	 */
+	@Version
+	@JsonIgnore
+	private Long version;
+	
 	public String getMaskedNumber() {
-		if (number == null) {
-			throw new IllegalArgumentException("Number cannot be null");
-		}
-		
-		String lastNumbers = number.substring(number.length() - 4);
-		String group = "*".repeat(4);
-		
-		StringBuilder builder = new StringBuilder();
-		
-		for (int i = 0; i < 2; i++) {
-			builder.append(group);
-			builder.append(" ");
-		}
-		
-		builder.append(lastNumbers);
-		
-		return builder.toString();
+		return CardUtils.maskNumber(number);
 	}
 }
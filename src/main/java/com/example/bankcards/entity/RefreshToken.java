@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.time.Instant;
@@ -17,7 +19,10 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "tokens")
+@NamedEntityGraph(name = RefreshToken.WITH_USER_GRAPH, attributeNodes = @NamedAttributeNode("user"))
 public class RefreshToken {
+	public static final String WITH_USER_GRAPH = "RefreshToken.user";
+	
 	@Id
 	@GeneratedValue
 	@UuidGenerator(style = UuidGenerator.Style.TIME)
@@ -37,7 +42,9 @@ public class RefreshToken {
 	@Builder.Default
 	private boolean expired = false;
 	
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id")
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	private User user;
 }
@@ -10,6 +10,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,11 +28,21 @@ import java.util.UUID;
 @Data
 @Table(name = "users")
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
 public class User implements UserDetails {
+	/**
+	 * Node-local regions: another node keeps serving a changed role or a deleted user until the entry expires,
+	 * so their TTL in ehcache.xml is kept short.
+	 */
+	public static final String CACHE_REGION = "users";
+	public static final String NATURAL_ID_CACHE_REGION = "users-by-email";
+	
 	@Id
 	@GeneratedValue(strategy = GenerationType.UUID)
 	private UUID id;
 	
+	@NaturalId(mutable = true)
 	@Column(nullable = false, unique = true)
 	@Email
 	private String email;
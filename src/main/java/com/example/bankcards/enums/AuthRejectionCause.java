@@ -0,0 +1,14 @@
+package com.example.bankcards.enums;
+
+public enum AuthRejectionCause {
+	MISSING_TOKEN,
+	BLACKLISTED,
+	BLACKLIST_UNAVAILABLE,
+	EXPIRED_TOKEN,
+	INVALID_TOKEN,
+	UNKNOWN_USER;
+	
+	public String getTag() {
+		return name().toLowerCase().replace('_', '-');
+	}
+}
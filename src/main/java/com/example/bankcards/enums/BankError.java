@@ -0,0 +1,40 @@
+package com.example.bankcards.enums;
+
+import com.example.bankcards.exception.BankException;
+import com.example.bankcards.util.Constants;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Expected business failures, each with its fixed status and message (a format for the ones taking arguments).
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BankError {
+	CARD_NOT_FOUND(HttpStatus.NOT_FOUND, Constants.CARD_NOT_FOUND_ERROR_MESSAGE),
+	USER_CARD_NOT_FOUND(HttpStatus.NOT_FOUND, Constants.USER_DOESNT_HAVE_CARD_ERROR_MESSAGE),
+	CARD_FORBIDDEN(HttpStatus.FORBIDDEN, Constants.GET_CARD_FORBIDDEN_ERROR_MESSAGE),
+	USER_NOT_FOUND(HttpStatus.NOT_FOUND, Constants.USER_NOT_FOUND_ERROR_MESSAGE),
+	USER_WITH_EMAIL_NOT_FOUND(HttpStatus.NOT_FOUND, Constants.USER_WITH_EMAIL_NOT_FOUND_ERROR_MESSAGE),
+	USER_EMAIL_ALREADY_EXISTS(HttpStatus.BAD_REQUEST, Constants.USER_EMAIL_ALREADY_EXISTS_ERROR_MESSAGE),
+	USER_ROLE_CONSTANCE(HttpStatus.BAD_REQUEST, Constants.USER_ROLE_CONSTANCE_ERROR_MESSAGE),
+	SAME_CARD(HttpStatus.BAD_REQUEST, "Sender and recipient cards must be different"),
+	SENDER_CARD_NOT_FOUND(HttpStatus.NOT_FOUND, "Sender card not found"),
+	RECIPIENT_CARD_NOT_FOUND(HttpStatus.NOT_FOUND, "Recipient card not found"),
+	INVALID_AMOUNT(HttpStatus.BAD_REQUEST, "Amount must be greater than zero"),
+	SENDER_CARD_INACTIVE(HttpStatus.BAD_REQUEST, "Sender card is not active"),
+	RECIPIENT_CARD_INACTIVE(HttpStatus.BAD_REQUEST, "Recipient card is not active"),
+	NOT_ENOUGH_MONEY(HttpStatus.BAD_REQUEST, Constants.NOT_ENOUGH_MONEY_ERROR_MESSAGE);
+	
+	private final HttpStatus status;
+	private final String message;
+	
+	public BankException exception() {
+		return new BankException(this, message);
+	}
+	
+	public BankException exception(Object... args) {
+		return new BankException(this, String.format(message, args));
+	}
+}
@@ -0,0 +1,33 @@
+package com.example.bankcards.enums;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+
+@RequiredArgsConstructor
+public enum CountMode {
+	EXACT("exact"),
+	APPROX("approx");
+	
+	private final String value;
+	
+	public String getValue() {
+		return value;
+	}
+	
+	public static CountMode fromValue(String value) {
+		if (value == null || value.isBlank()) {
+			return EXACT;
+		}
+		
+		return Arrays.stream(values())
+				.filter(mode -> mode.value.equalsIgnoreCase(value.trim()))
+				.findFirst()
+				.orElseThrow(() -> new ResponseStatusException(
+						HttpStatus.BAD_REQUEST,
+						String.format("Unsupported count mode: %s", value)
+				));
+	}
+}
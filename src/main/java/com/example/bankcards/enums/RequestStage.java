@@ -0,0 +1,17 @@
+package com.example.bankcards.enums;
+
+/**
+ * Stages of {@code RequestFilter}, plus everything after it down to the controller.
+ */
+public enum RequestStage {
+	EXTRACT,
+	BLACKLIST,
+	VERIFY,
+	LOAD_USER,
+	BUILD_CONTEXT,
+	DOWNSTREAM;
+	
+	public String getKey() {
+		return name().toLowerCase().replace('_', '-');
+	}
+}
@@ -0,0 +1,14 @@
+package com.example.bankcards.enums;
+
+public enum TransferFailureReason {
+	SAME_CARD,
+	INVALID_AMOUNT,
+	CARD_NOT_FOUND,
+	INACTIVE_CARD,
+	INSUFFICIENT_FUNDS,
+	ERROR;
+	
+	public String getTag() {
+		return name().toLowerCase().replace('_', '-');
+	}
+}
@@ -0,0 +1,12 @@
+package com.example.bankcards.enums;
+
+public enum WorkloadClass {
+	DEFAULT,
+	AUTH,
+	TRANSFERS,
+	LISTINGS;
+	
+	public String getPoolName() {
+		return name().toLowerCase().replace('_', '-');
+	}
+}
@@ -0,0 +1,25 @@
+package com.example.bankcards.exception;
+
+import com.example.bankcards.enums.BankError;
+import lombok.Getter;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * An expected business failure. Nobody reads its stack trace, so it is never captured:
+ * under a flood of bad card ids or insufficient-funds retries the stack walk would dominate the error path.
+ * Stays a {@link ResponseStatusException}, so callers and handlers that match on it keep working.
+ */
+@Getter
+public class BankException extends ResponseStatusException {
+	private final BankError error;
+	
+	public BankException(BankError error, String reason) {
+		super(error.getStatus(), reason);
+		this.error = error;
+	}
+	
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+}
@@ -1,5 +1,6 @@
 package com.example.bankcards.exception;
 
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -23,11 +24,28 @@ public class GlobalExceptionHandler {
 		return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
 	}
 	
+	/**
+	 * The body was built with the exception, there's no second {@link ProblemDetail} to allocate.
+	 */
+	@ExceptionHandler(BankException.class)
+	public ProblemDetail handleBankException(BankException ex) {
+		return ex.getBody();
+	}
+	
 	@ExceptionHandler(ResponseStatusException.class)
 	public ProblemDetail handleResponseStatusException(ResponseStatusException ex) {
 		return ProblemDetail.forStatusAndDetail(ex.getStatusCode(), ex.getBody().getDetail());
 	}
 	
+	/**
+	 * The entity changed between read and write, e.g. a card status change racing a transfer, or a row lock
+	 * could not be taken in time. Nothing was written, the client may retry.
+	 */
+	@ExceptionHandler(ConcurrencyFailureException.class)
+	public ProblemDetail handleConcurrencyFailureException(ConcurrencyFailureException ex) {
+		return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "The resource was modified concurrently, please retry");
+	}
+	
 	@ExceptionHandler(AuthenticationCredentialsNotFoundException.class)
 	public ProblemDetail handleAuthenticationCredentialsNotFoundException(AuthenticationCredentialsNotFoundException ex) {
 		return ProblemDetail.forStatusAndDetail(HttpStatus.UNAUTHORIZED, ex.getLocalizedMessage());
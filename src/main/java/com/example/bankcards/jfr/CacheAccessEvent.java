@@ -0,0 +1,25 @@
+package com.example.bankcards.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("bank.CacheAccess")
+@Label("Cache Access")
+@Category({"Bank", "Cache"})
+@StackTrace(false)
+public class CacheAccessEvent extends Event {
+	@Label("Cache")
+	public String cache;
+	
+	/**
+	 * The layer that answered: {@code local} or {@code remote}.
+	 */
+	@Label("Layer")
+	public String layer;
+	
+	@Label("Hit")
+	public boolean hit;
+}
@@ -0,0 +1,196 @@
+package com.example.bankcards.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * On-demand flight recording: {@code POST /actuator/jfr} starts one, {@code DELETE} stops it and
+ * {@code GET} downloads what has been recorded so far, while it runs or after it was stopped.
+ * The {@code bank.*} events are part of every recording.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrEndpoint {
+	private static final String RECORDING_NAME = "bank-api";
+	private static final String DEFAULT_SETTINGS = "default";
+	private static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(15);
+	private static final long MAX_SIZE_BYTES = 250L * 1024 * 1024;
+	
+	/**
+	 * Starting, stopping and dumping write to disk, a monitor held across that would pin a virtual thread's carrier.
+	 */
+	private final ReentrantLock lock = new ReentrantLock();
+	
+	private Recording recording;
+	
+	/**
+	 * The latest dump, removed on the next one in case its response was never streamed.
+	 */
+	private Path lastDump;
+	
+	/**
+	 * @param settings      {@code default} (about 1% overhead) or {@code profile}
+	 * @param maxAgeSeconds how much history the recording keeps, 15 minutes when omitted;
+	 *                      the recording never grows past 250 MB on disk either way
+	 */
+	@WriteOperation
+	public WebEndpointResponse<RecordingStatus> start(@Nullable String settings, @Nullable Long maxAgeSeconds) {
+		lock.lock();
+		
+		try {
+			if (recording != null && recording.getState() == RecordingState.RUNNING) {
+				return new WebEndpointResponse<>(RecordingStatus.of(recording), HttpStatus.CONFLICT.value());
+			}
+			
+			Configuration configuration;
+			
+			try {
+				configuration = Configuration.getConfiguration(settings != null ? settings : DEFAULT_SETTINGS);
+			} catch (IOException | ParseException e) {
+				return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+			}
+			
+			if (recording != null) {
+				recording.close();
+			}
+			
+			recording = new Recording(configuration);
+			recording.setName(RECORDING_NAME);
+			recording.setToDisk(true);
+			recording.setMaxAge(maxAgeSeconds != null ? Duration.ofSeconds(maxAgeSeconds) : DEFAULT_MAX_AGE);
+			recording.setMaxSize(MAX_SIZE_BYTES);
+			
+			recording.start();
+			log.info("start[1]: JFR recording started with {} settings", configuration.getName());
+			
+			return new WebEndpointResponse<>(RecordingStatus.of(recording));
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	@DeleteOperation
+	public WebEndpointResponse<RecordingStatus> stop() {
+		lock.lock();
+		
+		try {
+			if (recording == null) {
+				return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+			}
+			
+			if (recording.getState() == RecordingState.RUNNING) {
+				recording.stop();
+				log.info("stop[1]: JFR recording stopped");
+			}
+			
+			return new WebEndpointResponse<>(RecordingStatus.of(recording));
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	@ReadOperation(produces = "application/octet-stream")
+	public WebEndpointResponse<Resource> dump() throws IOException {
+		lock.lock();
+		
+		try {
+			if (recording == null) {
+				return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+			}
+			
+			deleteLastDump();
+			Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+			lastDump = file;
+			recording.dump(file);
+			
+			return new WebEndpointResponse<>(new TemporaryFileResource(file));
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * A dump still being streamed keeps its open handle, only the directory entry goes.
+	 */
+	private void deleteLastDump() {
+		if (lastDump == null) {
+			return;
+		}
+		
+		try {
+			Files.deleteIfExists(lastDump);
+		} catch (IOException e) {
+			log.warn("deleteLastDump[1]: could not delete {}: {}", lastDump, e.getMessage());
+		}
+		
+		lastDump = null;
+	}
+	
+	public record RecordingStatus(
+		String name,
+		String state,
+		Instant startTime,
+		Duration duration,
+		long size,
+		Duration maxAge,
+		long maxSize
+	) {
+		static RecordingStatus of(Recording recording) {
+			return new RecordingStatus(
+					recording.getName(),
+					recording.getState().name(),
+					recording.getStartTime(),
+					recording.getDuration(),
+					recording.getSize(),
+					recording.getMaxAge(),
+					recording.getMaxSize()
+			);
+		}
+	}
+	
+	/**
+	 * Deletes the dump once the response has been written.
+	 */
+	private static final class TemporaryFileResource extends FileSystemResource {
+		private TemporaryFileResource(Path file) {
+			super(file);
+		}
+		
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return new FilterInputStream(super.getInputStream()) {
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						Files.deleteIfExists(getFile().toPath());
+					}
+				}
+			};
+		}
+	}
+}
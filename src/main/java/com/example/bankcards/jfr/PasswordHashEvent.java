@@ -0,0 +1,19 @@
+package com.example.bankcards.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("bank.PasswordHash")
+@Label("Password Hash")
+@Category({"Bank", "Auth"})
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+	/**
+	 * {@code encode} or {@code matches}.
+	 */
+	@Label("Operation")
+	public String operation;
+}
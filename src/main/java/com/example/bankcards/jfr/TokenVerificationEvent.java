@@ -0,0 +1,22 @@
+package com.example.bankcards.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("bank.TokenVerification")
+@Label("Token Verification")
+@Category({"Bank", "Auth"})
+@StackTrace(false)
+public class TokenVerificationEvent extends Event {
+	@Label("Token Type")
+	public String tokenType;
+	
+	@Label("Valid")
+	public boolean valid;
+	
+	@Label("Failure")
+	public String failure;
+}
@@ -0,0 +1,34 @@
+package com.example.bankcards.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Spans a transfer from the start of the service call to the end of its transaction.
+ */
+@Name("bank.Transfer")
+@Label("Transfer")
+@Category({"Bank", "Transfers"})
+@Description("Card to card transfer from start to commit or rejection")
+@StackTrace(false)
+public class TransferEvent extends Event {
+	public static final String COMMITTED = "committed";
+	public static final String ROLLED_BACK = "rolled-back";
+	public static final String REJECTED = "rejected";
+	
+	@Label("Sender Card")
+	public String senderCardId;
+	
+	@Label("Recipient Card")
+	public String recipientCardId;
+	
+	@Label("Outcome")
+	public String outcome;
+	
+	@Label("Reason")
+	public String reason;
+}
@@ -0,0 +1,75 @@
+package com.example.bankcards.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lets at most {@code eventsPerSecond} events through per log statement, keyed by its format string,
+ * for events at or below {@code level} from loggers under {@code loggerPrefix}. WARN and ERROR are never sampled by default.
+ * The window rolls over without coordination, so the limit is approximate around second boundaries.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+	private static final int MAX_TRACKED_STATEMENTS = 1024;
+	
+	private final Map<String, Window> windows = new ConcurrentHashMap<>();
+	private Level level = Level.INFO;
+	private int eventsPerSecond = 20;
+	private String loggerPrefix = "";
+	
+	@Override
+	public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+		if (format == null
+				|| level.levelInt > this.level.levelInt
+				|| !level.isGreaterOrEqual(logger.getEffectiveLevel())
+				|| !logger.getName().startsWith(loggerPrefix)) {
+			return FilterReply.NEUTRAL;
+		}
+		
+		Window window = windows.get(format);
+		
+		if (window == null) {
+			if (windows.size() >= MAX_TRACKED_STATEMENTS) {
+				return FilterReply.NEUTRAL;
+			}
+			window = windows.computeIfAbsent(format, key -> new Window());
+		}
+		
+		return window.tryAcquire(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime()), eventsPerSecond)
+				? FilterReply.NEUTRAL
+				: FilterReply.DENY;
+	}
+	
+	public void setLevel(Level level) {
+		this.level = level;
+	}
+	
+	public void setEventsPerSecond(int eventsPerSecond) {
+		this.eventsPerSecond = eventsPerSecond;
+	}
+	
+	public void setLoggerPrefix(String loggerPrefix) {
+		this.loggerPrefix = loggerPrefix;
+	}
+	
+	private static final class Window {
+		private final AtomicInteger count = new AtomicInteger();
+		private volatile long second;
+		
+		boolean tryAcquire(long now, int limit) {
+			if (now != second) {
+				second = now;
+				count.set(0);
+			}
+			
+			return count.incrementAndGet() <= limit;
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.example.bankcards.metrics;
+
+import com.example.bankcards.enums.AuthRejectionCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the {@code RequestFilter} hot path, registered up front so recording doesn't allocate.
+ */
+@Component
+public class AuthMetrics {
+	private final Map<AuthRejectionCause, Counter> rejections = new EnumMap<>(AuthRejectionCause.class);
+	private final Timer blacklistLookup;
+	
+	public AuthMetrics(MeterRegistry meterRegistry) {
+		for (AuthRejectionCause cause : AuthRejectionCause.values()) {
+			rejections.put(cause, Counter.builder("auth.rejections")
+					.tag("cause", cause.getTag())
+					.register(meterRegistry));
+		}
+		
+		this.blacklistLookup = Timer.builder("auth.blacklist.lookup")
+				.publishPercentileHistogram()
+				.minimumExpectedValue(Duration.ofNanos(10_000))
+				.maximumExpectedValue(Duration.ofSeconds(1))
+				.register(meterRegistry);
+	}
+	
+	public void rejected(AuthRejectionCause cause) {
+		rejections.get(cause).increment();
+	}
+	
+	public void recordBlacklistLookup(long startNanos) {
+		blacklistLookup.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+}
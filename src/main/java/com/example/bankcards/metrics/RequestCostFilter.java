@@ -0,0 +1,134 @@
+package com.example.bankcards.metrics;
+
+import com.example.bankcards.datasource.QueryAccounting;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accounts the SQL statements, fetched rows and DB time (through {@code QueryAccountingDataSource}) and the heap allocated
+ * by the request thread, per endpoint as {@code http.server.requests.sql.*} and {@code http.server.requests.allocated}.
+ * With {@code debugHeader} set, the same figures are returned in the {@value #COST_HEADER} response header, except for
+ * actuator endpoints, whose responses (e.g. JFR dumps) are streamed instead of buffered to add the header.
+ */
+@Slf4j
+public class RequestCostFilter extends OncePerRequestFilter {
+	public static final String COST_HEADER = "X-Request-Cost";
+	private static final String UNKNOWN_URI = "UNKNOWN";
+	private static final String ACTUATOR_PATH = "/actuator/";
+	
+	private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+	private final MeterRegistry meterRegistry;
+	private final boolean debugHeader;
+	private final com.sun.management.ThreadMXBean threadBean;
+	
+	public RequestCostFilter(MeterRegistry meterRegistry, boolean debugHeader) {
+		this.meterRegistry = meterRegistry;
+		this.debugHeader = debugHeader;
+		this.threadBean = allocationTrackingThreadBean();
+	}
+	
+	@Override
+	protected void doFilterInternal(
+			@NonNull HttpServletRequest request,
+			@NonNull HttpServletResponse response,
+			@NonNull FilterChain filterChain
+	) throws ServletException, IOException {
+		ContentCachingResponseWrapper bufferedResponse = debugHeader && !request.getRequestURI().startsWith(ACTUATOR_PATH)
+				? new ContentCachingResponseWrapper(response)
+				: null;
+		QueryAccounting.Tally previous = QueryAccounting.begin();
+		long allocatedAtStart = allocatedBytes();
+		
+		try {
+			filterChain.doFilter(request, bufferedResponse == null ? response : bufferedResponse);
+		} finally {
+			long allocated = allocatedAtStart < 0 ? -1 : allocatedBytes() - allocatedAtStart;
+			QueryAccounting.Tally tally = QueryAccounting.current();
+			QueryAccounting.restore(previous);
+			
+			record(request, tally, allocated);
+			
+			if (bufferedResponse != null) {
+				bufferedResponse.setHeader(COST_HEADER, format(tally, allocated));
+				bufferedResponse.copyBodyToResponse();
+			}
+		}
+	}
+	
+	private void record(HttpServletRequest request, QueryAccounting.Tally tally, long allocated) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = pattern == null ? UNKNOWN_URI : pattern.toString();
+		Meters endpoint = meters.computeIfAbsent(request.getMethod() + " " + uri,
+				key -> new Meters(meterRegistry, request.getMethod(), uri));
+		
+		endpoint.statements().record(tally.getStatements());
+		endpoint.rows().record(tally.getRows());
+		endpoint.dbTime().record(tally.getNanos(), TimeUnit.NANOSECONDS);
+		
+		if (allocated >= 0) {
+			endpoint.allocated().record(allocated);
+		}
+	}
+	
+	static String format(QueryAccounting.Tally tally, long allocated) {
+		return String.format("statements=%d, rows=%d, db-ms=%.3f, allocated-bytes=%d",
+				tally.getStatements(), tally.getRows(), tally.getNanos() / 1_000_000.0, allocated);
+	}
+	
+	private long allocatedBytes() {
+		return threadBean == null ? -1 : threadBean.getCurrentThreadAllocatedBytes();
+	}
+	
+	private static com.sun.management.ThreadMXBean allocationTrackingThreadBean() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+				&& bean.isThreadAllocatedMemorySupported()) {
+			bean.setThreadAllocatedMemoryEnabled(true);
+			return bean;
+		}
+		
+		log.warn("allocationTrackingThreadBean[1]: per-thread allocation accounting is not supported by this JVM");
+		return null;
+	}
+	
+	private record Meters(DistributionSummary statements, DistributionSummary rows, Timer dbTime, DistributionSummary allocated) {
+		
+		Meters(MeterRegistry meterRegistry, String method, String uri) {
+			this(
+					DistributionSummary.builder("http.server.requests.sql.statements")
+							.tag("method", method).tag("uri", uri)
+							.publishPercentiles(0.5, 0.99)
+							.register(meterRegistry),
+					DistributionSummary.builder("http.server.requests.sql.rows")
+							.description("Rows fetched by the request's queries")
+							.tag("method", method).tag("uri", uri)
+							.publishPercentiles(0.5, 0.99)
+							.register(meterRegistry),
+					Timer.builder("http.server.requests.sql.time")
+							.tag("method", method).tag("uri", uri)
+							.publishPercentiles(0.5, 0.99)
+							.register(meterRegistry),
+					DistributionSummary.builder("http.server.requests.allocated")
+							.tag("method", method).tag("uri", uri)
+							.baseUnit("bytes")
+							.publishPercentiles(0.5, 0.99)
+							.register(meterRegistry)
+			);
+		}
+	}
+}
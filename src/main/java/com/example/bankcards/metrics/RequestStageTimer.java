@@ -0,0 +1,104 @@
+package com.example.bankcards.metrics;
+
+import com.example.bankcards.enums.RequestStage;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * HdrHistogram timings of the request filter stages. Recording goes to a {@link Recorder}, which is wait-free
+ * for writers, so it can stay on in production. Reads drain the recorders into a window that lasts until
+ * the next {@link #reset()}. A drain waits for writers still inside the recorder, so readers take a
+ * {@link ReentrantLock} rather than a monitor and never pin a virtual thread's carrier while waiting.
+ */
+@Component
+public class RequestStageTimer {
+	private static final int SIGNIFICANT_DIGITS = 2;
+	private static final double NANOS_PER_MILLI = 1_000_000.0;
+	
+	private final Map<RequestStage, Recorder> recorders = new EnumMap<>(RequestStage.class);
+	private final Map<RequestStage, Histogram> window = new EnumMap<>(RequestStage.class);
+	private final Map<RequestStage, Histogram> recycled = new EnumMap<>(RequestStage.class);
+	private final ReentrantLock lock = new ReentrantLock();
+	private Instant windowStart = Instant.now();
+	
+	public RequestStageTimer() {
+		for (RequestStage stage : RequestStage.values()) {
+			recorders.put(stage, new Recorder(SIGNIFICANT_DIGITS));
+			window.put(stage, new Histogram(SIGNIFICANT_DIGITS));
+		}
+	}
+	
+	/**
+	 * @return the current {@link System#nanoTime()}, to be passed as the start of the next stage
+	 */
+	public long record(RequestStage stage, long startNanos) {
+		long now = System.nanoTime();
+		recordNanos(stage, now - startNanos);
+		return now;
+	}
+	
+	public void recordNanos(RequestStage stage, long nanos) {
+		recorders.get(stage).recordValue(Math.max(0, nanos));
+	}
+	
+	public Snapshot snapshot() {
+		lock.lock();
+		
+		try {
+			drain();
+			Map<String, StageSnapshot> stages = new LinkedHashMap<>();
+			window.forEach((stage, histogram) -> stages.put(stage.getKey(), StageSnapshot.of(histogram)));
+			
+			return new Snapshot(windowStart, Instant.now(), stages);
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	public void reset() {
+		lock.lock();
+		
+		try {
+			drain();
+			window.values().forEach(Histogram::reset);
+			windowStart = Instant.now();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	private void drain() {
+		recorders.forEach((stage, recorder) -> {
+			Histogram interval = recorder.getIntervalHistogram(recycled.get(stage));
+			window.get(stage).add(interval);
+			recycled.put(stage, interval);
+		});
+	}
+	
+	public record Snapshot(Instant windowStart, Instant windowEnd, Map<String, StageSnapshot> stages) {
+	}
+	
+	/**
+	 * Latencies in milliseconds.
+	 */
+	public record StageSnapshot(long count, double mean, double p50, double p90, double p99, double p999, double max) {
+		static StageSnapshot of(Histogram histogram) {
+			return new StageSnapshot(
+					histogram.getTotalCount(),
+					histogram.getMean() / NANOS_PER_MILLI,
+					histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+					histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+					histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+					histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+					histogram.getMaxValue() / NANOS_PER_MILLI
+			);
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.example.bankcards.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/requesttimings} returns per-stage percentiles since the window started,
+ * {@code DELETE} starts a new window.
+ */
+@Component
+@Endpoint(id = "requesttimings")
+@RequiredArgsConstructor
+public class RequestTimingEndpoint {
+	private final RequestStageTimer requestStageTimer;
+	
+	@ReadOperation
+	public RequestStageTimer.Snapshot timings() {
+		return requestStageTimer.snapshot();
+	}
+	
+	@DeleteOperation
+	public void reset() {
+		requestStageTimer.reset();
+	}
+}
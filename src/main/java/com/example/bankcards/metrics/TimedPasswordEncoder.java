@@ -0,0 +1,76 @@
+package com.example.bankcards.metrics;
+
+import com.example.bankcards.jfr.PasswordHashEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the wrapped encoder as {@code auth.password.hashing}, tagged with the operation,
+ * and emits a {@link PasswordHashEvent} per call.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+	private final PasswordEncoder delegate;
+	private final Timer encode;
+	private final Timer matches;
+	
+	public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.encode = timer(meterRegistry, "encode");
+		this.matches = timer(meterRegistry, "matches");
+	}
+	
+	@Override
+	public String encode(CharSequence rawPassword) {
+		PasswordHashEvent event = new PasswordHashEvent();
+		event.begin();
+		long start = System.nanoTime();
+		
+		try {
+			return delegate.encode(rawPassword);
+		} finally {
+			encode.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			commit(event, "encode");
+		}
+	}
+	
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		PasswordHashEvent event = new PasswordHashEvent();
+		event.begin();
+		long start = System.nanoTime();
+		
+		try {
+			return delegate.matches(rawPassword, encodedPassword);
+		} finally {
+			matches.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			commit(event, "matches");
+		}
+	}
+	
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+	
+	private static void commit(PasswordHashEvent event, String operation) {
+		event.end();
+		
+		if (event.shouldCommit()) {
+			event.operation = operation;
+			event.commit();
+		}
+	}
+	
+	private static Timer timer(MeterRegistry meterRegistry, String operation) {
+		return Timer.builder("auth.password.hashing")
+				.tag("operation", operation)
+				.publishPercentileHistogram()
+				.minimumExpectedValue(Duration.ofMillis(1))
+				.maximumExpectedValue(Duration.ofSeconds(2))
+				.register(meterRegistry);
+	}
+}
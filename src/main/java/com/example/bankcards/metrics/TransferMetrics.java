@@ -0,0 +1,90 @@
+package com.example.bankcards.metrics;
+
+import com.example.bankcards.enums.TransferFailureReason;
+import com.example.bankcards.jfr.TransferEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * All meters are registered up front, recording is a lookup in an {@link EnumMap} and a {@code record} call,
+ * nothing is allocated per transfer unless the {@link TransferEvent} JFR event is enabled.
+ * Transfers are timed by {@link TransferMetricsAspect}, the service only counts rejections by reason.
+ * <p>
+ * {@code bank.transfers} is a histogram timer tagged with the outcome, its count gives the transfer rate.
+ * {@code bank.transfers.failed} counts failures by reason.
+ */
+@Component
+public class TransferMetrics {
+	private final Timer succeeded;
+	private final Timer failed;
+	private final Map<TransferFailureReason, Counter> failures = new EnumMap<>(TransferFailureReason.class);
+	
+	public TransferMetrics(MeterRegistry meterRegistry) {
+		this.succeeded = timer(meterRegistry, "success");
+		this.failed = timer(meterRegistry, "failure");
+		
+		for (TransferFailureReason reason : TransferFailureReason.values()) {
+			failures.put(reason, Counter.builder("bank.transfers.failed")
+					.tag("reason", reason.getTag())
+					.register(meterRegistry));
+		}
+	}
+	
+	public void rejected(TransferFailureReason reason) {
+		failures.get(reason).increment();
+	}
+	
+	/**
+	 * Called once the transfer's transaction has committed, the latency includes the commit.
+	 */
+	public void recordSuccess(long startNanos, TransferEvent event) {
+		succeeded.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+		commit(event, TransferEvent.COMMITTED, null);
+	}
+	
+	/**
+	 * A {@link ResponseStatusException} is a rejection the service already counted by reason,
+	 * anything else, including a failed commit, counts as {@link TransferFailureReason#ERROR}.
+	 */
+	public void recordFailure(long startNanos, TransferEvent event, Throwable failure) {
+		failed.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+		
+		if (failure instanceof ResponseStatusException statusException) {
+			commit(event, TransferEvent.REJECTED, statusException.getReason());
+		} else {
+			rejected(TransferFailureReason.ERROR);
+			commit(event, TransferEvent.ROLLED_BACK, failure.getClass().getSimpleName());
+		}
+	}
+	
+	private static void commit(TransferEvent event, String outcome, String reason) {
+		if (event == null) {
+			return;
+		}
+		
+		event.end();
+		
+		if (event.shouldCommit()) {
+			event.outcome = outcome;
+			event.reason = reason;
+			event.commit();
+		}
+	}
+	
+	private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+		return Timer.builder("bank.transfers")
+				.tag("outcome", outcome)
+				.publishPercentileHistogram()
+				.minimumExpectedValue(Duration.ofMillis(1))
+				.maximumExpectedValue(Duration.ofSeconds(10))
+				.register(meterRegistry);
+	}
+}
@@ -0,0 +1,52 @@
+package com.example.bankcards.metrics;
+
+import com.example.bankcards.dto.request.TransactionRequest;
+import com.example.bankcards.jfr.TransferEvent;
+import jdk.jfr.EventType;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times transfers around the transactional proxy: when the call returns the transaction has committed,
+ * so success is recorded right there and a failed commit surfaces as an exception like any other failure.
+ * <p>
+ * Runs inside the workload bulkhead, so time spent waiting for a permit is not part of the latency.
+ * The JFR event is only allocated while {@link TransferEvent} is enabled.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class TransferMetricsAspect {
+	private static final EventType TRANSFER_EVENT_TYPE = EventType.getEventType(TransferEvent.class);
+	
+	private final TransferMetrics transferMetrics;
+	
+	@Around("execution(* com.example.bankcards.service.TransactionService.makeTransactionBetweenCards(..)) && args(request, ..)")
+	public Object record(ProceedingJoinPoint joinPoint, TransactionRequest request) throws Throwable {
+		long start = System.nanoTime();
+		TransferEvent event = TRANSFER_EVENT_TYPE.isEnabled() ? begin(request) : null;
+		
+		try {
+			Object result = joinPoint.proceed();
+			transferMetrics.recordSuccess(start, event);
+			return result;
+		} catch (Throwable e) {
+			transferMetrics.recordFailure(start, event, e);
+			throw e;
+		}
+	}
+	
+	private static TransferEvent begin(TransactionRequest request) {
+		TransferEvent event = new TransferEvent();
+		event.senderCardId = String.valueOf(request.getSender_card_id());
+		event.recipientCardId = String.valueOf(request.getRecipient_card_id());
+		event.begin();
+		return event;
+	}
+}
@@ -1,27 +1,97 @@
 package com.example.bankcards.repository;
 
+import com.example.bankcards.dto.projection.CardSummary;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface CardRepository extends JpaRepository<Card, UUID> {
+	String SELECT_SUMMARY = "SELECT new com.example.bankcards.dto.projection.CardSummary("
+			+ "c.id, c.number, c.status, c.expiryDate, c.balance, o.id, o.firstName, o.lastName"
+			+ ") FROM Card c JOIN c.owner o";
+	
 	boolean existsByNumber(String number);
-	Optional<Card> findByOwnerAndId(User user, UUID id);
 	
-	Page<Card> findByOwner(User user, Pageable pageable);
+	/**
+	 * Both sides of a transfer in one round trip, the sender only if it belongs to {@code owner}.
+	 * The rows are locked in id order, so two transfers over the same pair of cards queue up instead of deadlocking.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT c FROM Card c WHERE (c.id = :senderId AND c.owner = :owner) OR c.id = :recipientId ORDER BY c.id")
+	List<Card> findTransferCards(User owner, UUID senderId, UUID recipientId);
+	
+	@Transactional(readOnly = true)
+	@Query(SELECT_SUMMARY + " WHERE c.id = :id")
+	Optional<CardSummary> findSummaryById(UUID id);
+	
+	/**
+	 * Not read-only, so it's routed to the primary: a balance must never come from a lagging replica.
+	 */
+	@Query(SELECT_SUMMARY + " WHERE c.id = :id AND o.id = :ownerId")
+	Optional<CardSummary> findOwnedSummaryById(UUID id, UUID ownerId);
+	
+	@Query(value = SELECT_SUMMARY, countQuery = "SELECT count(c) FROM Card c")
+	Page<CardSummary> findSummaries(Pageable pageable);
+	
+	@Query(
+			value = SELECT_SUMMARY + " WHERE o.id = :ownerId",
+			countQuery = "SELECT count(c) FROM Card c WHERE c.owner.id = :ownerId"
+	)
+	Page<CardSummary> findSummariesByOwnerId(UUID ownerId, Pageable pageable);
+	
+	@Query(
+			value = SELECT_SUMMARY + " WHERE c.number LIKE %:lastFourDigits%",
+			countQuery = "SELECT count(c) FROM Card c WHERE c.number LIKE %:lastFourDigits%"
+	)
+	Page<CardSummary> findSummariesByLastFourDigits(String lastFourDigits, Pageable pageable);
+	
+	@Query(
+			value = SELECT_SUMMARY + " WHERE o.firstName LIKE %:firstName%",
+			countQuery = "SELECT count(c) FROM Card c WHERE c.owner.firstName LIKE %:firstName%"
+	)
+	Page<CardSummary> findSummariesByOwnerFirstName(String firstName, Pageable pageable);
+	
+	@Query(
+			value = SELECT_SUMMARY + " WHERE o.firstName LIKE %:firstName% OR o.lastName LIKE %:lastName%",
+			countQuery = "SELECT count(c) FROM Card c WHERE c.owner.firstName LIKE %:firstName% OR c.owner.lastName LIKE %:lastName%"
+	)
+	Page<CardSummary> findSummariesByOwnerFirstNameOrLastName(String firstName, String lastName, Pageable pageable);
+	
+	@Query(SELECT_SUMMARY)
+	Slice<CardSummary> findSummarySlice(Pageable pageable);
+	
+	@Query(SELECT_SUMMARY + " WHERE c.number LIKE %:lastFourDigits%")
+	Slice<CardSummary> findSummarySliceByLastFourDigits(String lastFourDigits, Pageable pageable);
+	
+	@Query(SELECT_SUMMARY + " WHERE o.firstName LIKE %:firstName%")
+	Slice<CardSummary> findSummarySliceByOwnerFirstName(String firstName, Pageable pageable);
+	
+	@Query(SELECT_SUMMARY + " WHERE o.firstName LIKE %:firstName% OR o.lastName LIKE %:lastName%")
+	Slice<CardSummary> findSummarySliceByOwnerFirstNameOrLastName(String firstName, String lastName, Pageable pageable);
+	
+	@Query("SELECT count(c) FROM Card c WHERE c.number LIKE %:lastFourDigits%")
+	long countByLastFourDigits(String lastFourDigits);
 	
-	@Query("SELECT c FROM Card c WHERE c.number LIKE %:lastFourDigits%")
-	Page<Card> findByLastFourDigits(String lastFourDigits, Pageable pageable);
+	@Query("SELECT count(c) FROM Card c WHERE c.owner.firstName LIKE %:firstName%")
+	long countByOwnerFirstName(String firstName);
 	
-	@Query("SELECT c FROM Card c WHERE c.owner.firstName LIKE %:firstName%")
-	Page<Card> findByOwnerFirstName(String firstName, Pageable pageable);
+	@Query("SELECT count(c) FROM Card c WHERE c.owner.firstName LIKE %:firstName% OR c.owner.lastName LIKE %:lastName%")
+	long countByOwnerFirstNameOrLastName(String firstName, String lastName);
 	
-	@Query("SELECT c FROM Card c WHERE c.owner.firstName LIKE %:firstName% OR c.owner.lastName LIKE %:lastName%")
-	Page<Card> findByOwnerFirstNameOrLastName(String firstName, String lastName, Pageable pageable);
+	/**
+	 * Row estimate from Postgres planner statistics, -1 if the table was never analyzed.
+	 */
+	@Query(value = "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE relname = 'cards'", nativeQuery = true)
+	long estimateCount();
 }
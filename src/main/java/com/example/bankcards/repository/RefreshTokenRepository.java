@@ -2,6 +2,7 @@ package com.example.bankcards.repository;
 
 import com.example.bankcards.entity.RefreshToken;
 import com.example.bankcards.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
@@ -9,5 +10,9 @@ import java.util.UUID;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
 	Optional<RefreshToken> findByToken(String token);
+	
+	@EntityGraph(RefreshToken.WITH_USER_GRAPH)
+	Optional<RefreshToken> findWithUserByToken(String token);
+	
 	void deleteByUser(User user);
 }
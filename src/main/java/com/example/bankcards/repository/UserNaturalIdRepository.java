@@ -0,0 +1,12 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.User;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+	/**
+	 * Loads the user through the email natural id, so repeated lookups are served by the second-level cache.
+	 */
+	Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,22 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<User> findByEmail(String email) {
+		return entityManager.unwrap(Session.class)
+				.bySimpleNaturalId(User.class)
+				.loadOptional(email);
+	}
+}
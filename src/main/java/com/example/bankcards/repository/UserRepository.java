@@ -3,14 +3,13 @@ package com.example.bankcards.repository;
 import com.example.bankcards.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
-import java.util.Optional;
 import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<User, UUID> {
-	Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, UUID>, UserNaturalIdRepository {
 	boolean existsByEmail(String email);
 	
 	@Query("SELECT u FROM User u WHERE u.firstName LIKE %:firstName% OR u.lastName LIKE %:lastName%")
@@ -18,4 +17,25 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 	
 	@Query("SELECT u FROM User u WHERE u.firstName LIKE %:firstName%")
 	Page<User> findByFirstName(String firstName, Pageable pageable);
+	
+	@Query("SELECT u FROM User u")
+	Slice<User> findSliceBy(Pageable pageable);
+	
+	@Query("SELECT u FROM User u WHERE u.firstName LIKE %:firstName% OR u.lastName LIKE %:lastName%")
+	Slice<User> findSliceByFirstNameOrLastName(String firstName, String lastName, Pageable pageable);
+	
+	@Query("SELECT u FROM User u WHERE u.firstName LIKE %:firstName%")
+	Slice<User> findSliceByFirstName(String firstName, Pageable pageable);
+	
+	@Query("SELECT count(u) FROM User u WHERE u.firstName LIKE %:firstName% OR u.lastName LIKE %:lastName%")
+	long countByFirstNameOrLastName(String firstName, String lastName);
+	
+	@Query("SELECT count(u) FROM User u WHERE u.firstName LIKE %:firstName%")
+	long countByFirstName(String firstName);
+	
+	/**
+	 * Row estimate from Postgres planner statistics, -1 if the table was never analyzed.
+	 */
+	@Query(value = "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE relname = 'users'", nativeQuery = true)
+	long estimateCount();
 }
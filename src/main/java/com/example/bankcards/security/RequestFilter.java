@@ -1,8 +1,13 @@
 package com.example.bankcards.security;
 
+import com.example.bankcards.enums.AuthRejectionCause;
+import com.example.bankcards.enums.RequestStage;
+import com.example.bankcards.metrics.AuthMetrics;
+import com.example.bankcards.metrics.RequestStageTimer;
 import com.example.bankcards.service.impl.JwtService;
 import com.example.bankcards.util.Constants;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,6 +24,7 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -42,6 +48,8 @@ public class RequestFilter extends OncePerRequestFilter {
 	private final JwtService jwtService;
 	private final TokenBlacklistService blacklistingService;
 	private final UserDetailsService userDetailsService;
+	private final AuthMetrics authMetrics;
+	private final RequestStageTimer stageTimer;
 	
 	@Override
 	protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -57,9 +65,15 @@ public class RequestFilter extends OncePerRequestFilter {
 			@NonNull HttpServletResponse response,
 			@NonNull FilterChain filterChain
 	) throws ServletException, IOException {
+		long stageStart = System.nanoTime();
 		String jwt = extractTokenFromHeader(request.getHeader(HttpHeaders.AUTHORIZATION));
+		stageStart = stageTimer.record(RequestStage.EXTRACT, stageStart);
 		
-		if (isTokenInvalid(jwt)) {
+		AuthRejectionCause rejection = checkToken(jwt);
+		stageTimer.record(RequestStage.BLACKLIST, stageStart);
+		
+		if (rejection != null) {
+			authMetrics.rejected(rejection);
 			sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid token");
 			return;
 		}
@@ -71,7 +85,13 @@ public class RequestFilter extends OncePerRequestFilter {
 			return;
 		}
 		
-		filterChain.doFilter(request, response);
+		long downstreamStart = System.nanoTime();
+		
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			stageTimer.record(RequestStage.DOWNSTREAM, downstreamStart);
+		}
 	}
 	
 	/**
@@ -85,13 +105,23 @@ public class RequestFilter extends OncePerRequestFilter {
 	}
 	
 	/**
-	 * Checks if the token is null or blacklisted, and sends an error response if invalid.
+	 * Checks if the token is null or blacklisted.
+	 *
+	 * @return why the token is rejected, or {@code null} if it may be authenticated
 	 */
-	private boolean isTokenInvalid(String jwt) {
+	private AuthRejectionCause checkToken(String jwt) {
+		if (jwt == null) {
+			return AuthRejectionCause.MISSING_TOKEN;
+		}
+		
+		long start = System.nanoTime();
+		
 		try {
-			return jwt == null || isTokenBlacklisted(jwt);
+			return isTokenBlacklisted(jwt) ? AuthRejectionCause.BLACKLISTED : null;
 		} catch (RedisConnectionFailureException e) {
-			return true;
+			return AuthRejectionCause.BLACKLIST_UNAVAILABLE;
+		} finally {
+			authMetrics.recordBlacklistLookup(start);
 		}
 	}
 	
@@ -111,14 +141,24 @@ public class RequestFilter extends OncePerRequestFilter {
 	 */
 	private void authenticateJwtToken(String jwt, HttpServletRequest request) {
 		try {
+			long stageStart = System.nanoTime();
 			String username = jwtService.extractUsername(jwt);
+			long verifyNanos = System.nanoTime() - stageStart;
+			
 			if (username == null || SecurityContextHolder.getContext().getAuthentication() != null) {
 				return;
 			}
 			
+			stageStart = System.nanoTime();
 			UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+			stageStart = stageTimer.record(RequestStage.LOAD_USER, stageStart);
+			
+			boolean valid = jwtService.validateAccessToken(jwt);
+			long now = System.nanoTime();
+			stageTimer.recordNanos(RequestStage.VERIFY, verifyNanos + now - stageStart);
+			stageStart = now;
 			
-			if (jwtService.validateAccessToken(jwt)) {
+			if (valid) {
 				SecurityContext context = SecurityContextHolder.getContext();
 				var authorities = userDetails.getAuthorities();
 				
@@ -133,12 +173,26 @@ public class RequestFilter extends OncePerRequestFilter {
 				
 				authToken.setDetails(authDetails);
 				context.setAuthentication(authToken);
+				stageTimer.record(RequestStage.BUILD_CONTEXT, stageStart);
+			} else {
+				authMetrics.rejected(AuthRejectionCause.INVALID_TOKEN);
 			}
 		} catch (Exception e) {
+			authMetrics.rejected(rejectionCause(e));
 			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, e.getMessage());
 		}
 	}
 	
+	private static AuthRejectionCause rejectionCause(Exception e) {
+		if (e instanceof ExpiredJwtException) {
+			return AuthRejectionCause.EXPIRED_TOKEN;
+		}
+		if (e instanceof UsernameNotFoundException) {
+			return AuthRejectionCause.UNKNOWN_USER;
+		}
+		return AuthRejectionCause.INVALID_TOKEN;
+	}
+	
 	/**
 	 * Checks if the token is blacklisted in Redis.
 	 */
@@ -4,6 +4,7 @@ import com.example.bankcards.dto.CardDto;
 import com.example.bankcards.dto.request.CreateCardRequest;
 import com.example.bankcards.dto.response.CardBalanceResponse;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.CountMode;
 import org.springframework.data.domain.Page;
 
 import java.util.UUID;
@@ -12,7 +13,7 @@ public interface CardService {
 	void deleteCard(UUID id);
 	CardDto getCardById(User user, UUID id);
 	CardDto createCard(CreateCardRequest createCardRequest);
-	Page<CardDto> getCards(int page, int size, String search, User user);
+	Page<CardDto> getCards(int page, int size, String search, User user, CountMode countMode);
 	void blockCard(UUID id);
 	void activateCard(UUID id);
 	
@@ -3,6 +3,7 @@ package com.example.bankcards.service;
 import com.example.bankcards.dto.UserDto;
 import com.example.bankcards.dto.request.RegisterRequest;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.CountMode;
 import org.springframework.data.domain.Page;
 
 import java.util.UUID;
@@ -12,7 +13,7 @@ public interface UserService {
 	User getUserByEmail(String email);
 	UserDto createUser(RegisterRequest request);
 	UserDto updateUser(UserDto userDto);
-	Page<UserDto> getUsers(int page, int size, String search);
+	Page<UserDto> getUsers(int page, int size, String search, CountMode countMode);
 	UserDto getCurrentUser();
 	void deleteUser(UUID id);
 	boolean checkUserExistence(String email);
@@ -1,5 +1,6 @@
 package com.example.bankcards.service.impl;
 
+import com.example.bankcards.datasource.Workload;
 import com.example.bankcards.dto.request.LoginRequest;
 import com.example.bankcards.dto.request.RegisterRequest;
 import com.example.bankcards.dto.response.JwtResponse;
@@ -7,6 +8,7 @@ import com.example.bankcards.dto.response.LogoutResponse;
 import com.example.bankcards.entity.RefreshToken;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.enums.Role;
+import com.example.bankcards.enums.WorkloadClass;
 import com.example.bankcards.repository.RefreshTokenRepository;
 import com.example.bankcards.repository.UserRepository;
 import com.example.bankcards.security.TokenBlacklistService;
@@ -31,6 +33,7 @@ import java.util.Optional;
 @Slf4j
 @RequiredArgsConstructor
 @Service
+@Workload(WorkloadClass.AUTH)
 public class AuthService {
 	private final JwtService jwtService;
 	private final UserService userService;
@@ -1,28 +1,32 @@
 package com.example.bankcards.service.impl;
 
+import com.example.bankcards.coalescing.Coalesce;
+import com.example.bankcards.datasource.Workload;
 import com.example.bankcards.dto.CardDto;
 import com.example.bankcards.dto.CardDtoWithBalance;
+import com.example.bankcards.dto.projection.CardSummary;
 import com.example.bankcards.dto.request.CreateCardRequest;
 import com.example.bankcards.dto.response.CardBalanceResponse;
+import com.example.bankcards.dto.response.EstimatedPage;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.enums.BankCardStatus;
+import com.example.bankcards.enums.BankError;
+import com.example.bankcards.enums.CountMode;
 import com.example.bankcards.enums.Role;
+import com.example.bankcards.enums.WorkloadClass;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.UserRepository;
 import com.example.bankcards.service.CardService;
 import com.example.bankcards.util.CardUtils;
-import com.example.bankcards.util.Constants;
 import com.example.bankcards.util.mappers.CardMapper;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -38,44 +42,38 @@ public class CardServiceImpl implements CardService {
 	private final UserRepository userRepository;
 	private final CardMapper cardMapper;
 	private final CardUtils cardUtils;
+	private final ListingCountService listingCountService;
+	private final CardViewCache cardViewCache;
 	
 	@Override
 	@Transactional
 	public void deleteCard(UUID id) {
 		if (cardRepository.findById(id).isEmpty()) {
-			throw new ResponseStatusException(
-					HttpStatus.NOT_FOUND,
-					Constants.CARD_NOT_FOUND_ERROR_MESSAGE
-			);
+			throw BankError.CARD_NOT_FOUND.exception();
 		}
 		
 		cardRepository.deleteById(id);
+		cardViewCache.evictAfterCommit(id);
 	}
 	
 	@Override
 	public CardDto getCardById(User user, UUID id) {
-		Optional<Card> cardResponse = cardRepository.findById(id);
+		Optional<CardSummary> cardResponse = cardViewCache.getDetail(id, cardRepository::findSummaryById);
 		
 		if (cardResponse.isEmpty()) {
-			throw new ResponseStatusException(
-					HttpStatus.NOT_FOUND,
-					Constants.CARD_NOT_FOUND_ERROR_MESSAGE
-			);
+			throw BankError.CARD_NOT_FOUND.exception();
 		}
 		
 		log.info("getCardById[1]: user authorities are {}", user.getAuthorities());
 		
 		boolean isAdmin = user.hasRole(Role.ADMIN);
-		Card card = cardResponse.get();
+		CardSummary card = cardResponse.get();
 		
-		if (!(isAdmin || card.getOwner().equals(user))) {
-			throw new ResponseStatusException(
-					HttpStatus.FORBIDDEN,
-					Constants.GET_CARD_FORBIDDEN_ERROR_MESSAGE
-			);
+		if (!(isAdmin || card.ownerId().equals(user.getId()))) {
+			throw BankError.CARD_FORBIDDEN.exception();
 		}
 		
-		return cardMapper.cardToCardDto(card);
+		return cardMapper.cardSummaryToCardDto(card);
 	}
 	
 	@Override
@@ -84,10 +82,7 @@ public class CardServiceImpl implements CardService {
 		Optional<User> userResponse = userRepository.findById(createCardRequest.getUser_id());
 		
 		if (userResponse.isEmpty()) {
-			throw new ResponseStatusException(
-					HttpStatus.NOT_FOUND,
-					Constants.USER_NOT_FOUND_ERROR_MESSAGE
-			);
+			throw BankError.USER_NOT_FOUND.exception();
 		}
 		
 		Card card = Card.builder()
@@ -102,16 +97,32 @@ public class CardServiceImpl implements CardService {
 	}
 	
 	@Override
-	public Page<CardDto> getCards(int page, int size, String search, User user) {
+	@Transactional(readOnly = true)
+	@Workload(WorkloadClass.LISTINGS)
+	@Coalesce
+	public Page<CardDto> getCards(int page, int size, String search, User user, CountMode countMode) {
 		Pageable pageable = PageRequest.of(page, size);
+		boolean approx = countMode == CountMode.APPROX && user.hasRole(Role.ADMIN);
 		
 		if (search == null || search.isEmpty()) {
 			if (user.hasRole(Role.USER)) {
 				return getOwnerCards(user, page, size);
 			}
 			
-			Page<Card> cardPage = cardRepository.findAll(pageable);
-			return cardPage.map(cardMapper::cardToCardDto);
+			if (approx) {
+				return EstimatedPage.of(
+						cardRepository.findSummarySlice(pageable)
+								.map(cardMapper::cardSummaryToCardDto),
+						listingCountService::estimateCards
+				);
+			}
+			
+			Page<CardSummary> cardPage = cardRepository.findSummaries(pageable);
+			return cardPage.map(cardMapper::cardSummaryToCardDto);
+		}
+		
+		if (approx) {
+			return searchCardsApprox(page, size, search);
 		}
 		
 		return searchCards(page, size, search);
@@ -120,7 +131,7 @@ public class CardServiceImpl implements CardService {
 	private Page<CardDto> getOwnerCards(User user, int page, int size) {
 		Pageable pageable = PageRequest.of(page, size);
 		
-		Page<Card> ownerCards = cardRepository.findByOwner(user, pageable);
+		Page<CardSummary> ownerCards = cardRepository.findSummariesByOwnerId(user.getId(), pageable);
 		return ownerCards.map(CardDtoWithBalance::new);
 	}
 	
@@ -129,23 +140,55 @@ public class CardServiceImpl implements CardService {
 		Pageable pageable = PageRequest.of(page, size);
 		
 		if (searchTerm.matches("\\d{4}")) {
-			return cardRepository.findByLastFourDigits(searchTerm, pageable)
-					.map(cardMapper::cardToCardDto);
+			return cardRepository.findSummariesByLastFourDigits(searchTerm, pageable)
+					.map(cardMapper::cardSummaryToCardDto);
 		}
 		
 		List<String> userNames = Arrays.stream(searchTerm.split(" ")).toList();
 		
 		if (userNames.size() > 1) {
-			return cardRepository.findByOwnerFirstNameOrLastName(
+			return cardRepository.findSummariesByOwnerFirstNameOrLastName(
 							userNames.get(0),
 							userNames.get(1),
 							pageable
 					)
-					.map(cardMapper::cardToCardDto);
+					.map(cardMapper::cardSummaryToCardDto);
+		}
+		
+		return cardRepository.findSummariesByOwnerFirstName(searchTerm, pageable)
+				.map(cardMapper::cardSummaryToCardDto);
+	}
+	
+	private Page<CardDto> searchCardsApprox(int page, int size, String query) {
+		String searchTerm = query.trim();
+		Pageable pageable = PageRequest.of(page, size);
+		
+		if (searchTerm.matches("\\d{4}")) {
+			return EstimatedPage.of(
+					cardRepository.findSummarySliceByLastFourDigits(searchTerm, pageable)
+							.map(cardMapper::cardSummaryToCardDto),
+					() -> listingCountService.countCardsByLastFourDigits(searchTerm)
+			);
 		}
 		
-		return cardRepository.findByOwnerFirstName(searchTerm, pageable)
-				.map(cardMapper::cardToCardDto);
+		List<String> userNames = Arrays.stream(searchTerm.split(" ")).toList();
+		
+		if (userNames.size() > 1) {
+			String firstName = userNames.get(0);
+			String lastName = userNames.get(1);
+			
+			return EstimatedPage.of(
+					cardRepository.findSummarySliceByOwnerFirstNameOrLastName(firstName, lastName, pageable)
+							.map(cardMapper::cardSummaryToCardDto),
+					() -> listingCountService.countCardsByOwnerFirstNameOrLastName(firstName, lastName)
+			);
+		}
+		
+		return EstimatedPage.of(
+				cardRepository.findSummarySliceByOwnerFirstName(searchTerm, pageable)
+						.map(cardMapper::cardSummaryToCardDto),
+				() -> listingCountService.countCardsByOwnerFirstName(searchTerm)
+		);
 	}
 	
 	@Override
@@ -161,26 +204,18 @@ public class CardServiceImpl implements CardService {
 	}
 	
 	@Override
-	@Transactional
 	public CardBalanceResponse getCardBalance(User user, UUID id) {
-		Optional<Card> cardResponse = cardRepository.findByOwnerAndId(user, id);
+		Optional<CardSummary> cardResponse = cardRepository.findOwnedSummaryById(id, user.getId());
 		
 		if (cardResponse.isEmpty()) {
-			throw new ResponseStatusException(
-				HttpStatus.NOT_FOUND, String.format(
-					Constants.USER_DOESNT_HAVE_CARD_ERROR_MESSAGE,
-					user.getFirstName(),
-					user.getLastName(),
-					id
-				)
-			);
+			throw BankError.USER_CARD_NOT_FOUND.exception(user.getFirstName(), user.getLastName(), id);
 		}
 		
-		Card card = cardResponse.get();
+		CardSummary card = cardResponse.get();
 		
 		return CardBalanceResponse.builder()
-				.maskedNumber(card.getMaskedNumber())
-				.balance(card.getBalance())
+				.maskedNumber(card.maskedNumber())
+				.balance(card.balance())
 				.build();
 	}
 	
@@ -188,12 +223,13 @@ public class CardServiceImpl implements CardService {
 		Optional<Card> cardResponse = cardRepository.findById(id);
 		
 		if (cardResponse.isEmpty()) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND, Constants.CARD_NOT_FOUND_ERROR_MESSAGE);
+			throw BankError.CARD_NOT_FOUND.exception();
 		}
 		
 		Card card = cardResponse.get();
 		card.setStatus(status);
 		
 		cardRepository.save(card);
+		cardViewCache.evictAfterCommit(id);
 	}
 }
@@ -0,0 +1,89 @@
+package com.example.bankcards.service.impl;
+
+import com.example.bankcards.dto.projection.CardSummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-process cache of card detail views keyed by card id, which may be up to {@code card.cache.detailTtlInMs} stale
+ * on nodes other than the one that changed the card. Balances are never cached, see {@code CardServiceImpl.getCardBalance}.
+ */
+@Service
+public class CardViewCache {
+	private final Cache<UUID, CardSummary> details;
+	
+	/**
+	 * Bumped on every eviction, a load that started before it must not repopulate the cache.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+	
+	public CardViewCache(
+		MeterRegistry meterRegistry,
+		@Value("${card.cache.maxSize}") long maxSize,
+		@Value("${card.cache.detailTtlInMs}") long detailTtlInMs
+	) {
+		this.details = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(Duration.ofMillis(detailTtlInMs))
+				.recordStats()
+				.build();
+		
+		CaffeineCacheMetrics.monitor(meterRegistry, details, "card-details", Tags.of("cache.manager", "card-view", "layer", "local"));
+	}
+	
+	public Optional<CardSummary> getDetail(UUID id, Function<UUID, Optional<CardSummary>> loader) {
+		CardSummary cached = details.getIfPresent(id);
+		
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+		
+		long loadGeneration = generation.get();
+		Optional<CardSummary> loaded = loader.apply(id);
+		
+		loaded.ifPresent(card -> details.asMap().compute(
+				id,
+				(key, current) -> generation.get() == loadGeneration ? card : current
+		));
+		
+		return loaded;
+	}
+	
+	/**
+	 * Evicts the cards once the surrounding transaction commits, or right away outside a transaction.
+	 */
+	public void evictAfterCommit(UUID... cardIds) {
+		List<UUID> ids = List.of(cardIds);
+		
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			evict(ids);
+			return;
+		}
+		
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				evict(ids);
+			}
+		});
+	}
+	
+	private void evict(List<UUID> ids) {
+		generation.incrementAndGet();
+		details.invalidateAll(ids);
+	}
+}
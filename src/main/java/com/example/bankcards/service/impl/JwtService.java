@@ -1,5 +1,6 @@
 package com.example.bankcards.service.impl;
 
+import com.example.bankcards.jfr.TokenVerificationEvent;
 import com.example.bankcards.util.JwtUtils;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.SignatureException;
@@ -56,35 +57,53 @@ public class JwtService {
 	}
 	
 	public boolean validateAccessToken(String token) {
-		return validateToken(token, accessSecret);
+		return validateToken(token, accessSecret, "access");
 	}
 	
-	private boolean validateToken(String token, SecretKey secretKey) {
+	/**
+	 * Expected rejections are logged without their stack trace, only an unexpected failure keeps it.
+	 */
+	private boolean validateToken(String token, SecretKey secretKey, String tokenType) {
+		TokenVerificationEvent event = new TokenVerificationEvent();
+		event.begin();
+		Exception failure = null;
+		
 		try {
 			Jwts.parser()
 					.verifyWith(secretKey)
 					.build()
 					.parseSignedClaims(token);
-			
-			return true;
 		}
 		catch (ExpiredJwtException e) {
-			log.error("JwtService[validateToken]: expired token", e);
+			failure = e;
+			log.debug("JwtService[validateToken]: expired {} token: {}", tokenType, e.getMessage());
 		}
 		catch (UnsupportedJwtException e) {
-			log.error("JwtService[validateToken]: unsupported token", e);
+			failure = e;
+			log.debug("JwtService[validateToken]: unsupported {} token: {}", tokenType, e.getMessage());
 		}
 		catch (MalformedJwtException e) {
-			log.error("JwtService[validateToken]: malformed token", e);
+			failure = e;
+			log.debug("JwtService[validateToken]: malformed {} token: {}", tokenType, e.getMessage());
 		}
 		catch (SignatureException e) {
-			log.error("JwtService[validateToken]: signature exception", e);
+			failure = e;
+			log.warn("JwtService[validateToken]: {} token signature mismatch: {}", tokenType, e.getMessage());
 		}
 		catch (Exception e) {
+			failure = e;
 			log.error("JwtService[validateToken]: invalid token", e);
 		}
 		
-		return false;
+		event.end();
+		if (event.shouldCommit()) {
+			event.tokenType = tokenType;
+			event.valid = failure == null;
+			event.failure = failure != null ? failure.getClass().getSimpleName() : null;
+			event.commit();
+		}
+		
+		return failure == null;
 	}
 	
 	public String extractUsername(String token) {
@@ -106,6 +125,6 @@ public class JwtService {
 	}
 	
 	public boolean validateRefreshToken(String token) {
-		return validateToken(token, refreshSecret);
+		return validateToken(token, refreshSecret, "refresh");
 	}
 }
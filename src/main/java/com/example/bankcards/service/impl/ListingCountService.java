@@ -0,0 +1,56 @@
+package com.example.bankcards.service.impl;
+
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.util.Constants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Totals for admin listings requested with {@code count=approx}.
+ * Unfiltered totals come from planner statistics, filtered ones are exact counts kept in a TTL cache.
+ */
+@Service
+@RequiredArgsConstructor
+public class ListingCountService {
+	private final CardRepository cardRepository;
+	private final UserRepository userRepository;
+	
+	public long estimateCards() {
+		long estimate = cardRepository.estimateCount();
+		
+		return estimate < 0 ? cardRepository.count() : estimate;
+	}
+	
+	public long estimateUsers() {
+		long estimate = userRepository.estimateCount();
+		
+		return estimate < 0 ? userRepository.count() : estimate;
+	}
+	
+	@Cacheable(value = Constants.LISTING_COUNT_CACHE_NAME, key = "'cards:digits:' + #lastFourDigits")
+	public long countCardsByLastFourDigits(String lastFourDigits) {
+		return cardRepository.countByLastFourDigits(lastFourDigits);
+	}
+	
+	@Cacheable(value = Constants.LISTING_COUNT_CACHE_NAME, key = "'cards:first:' + #firstName")
+	public long countCardsByOwnerFirstName(String firstName) {
+		return cardRepository.countByOwnerFirstName(firstName);
+	}
+	
+	@Cacheable(value = Constants.LISTING_COUNT_CACHE_NAME, key = "'cards:full:' + #firstName + ' ' + #lastName")
+	public long countCardsByOwnerFirstNameOrLastName(String firstName, String lastName) {
+		return cardRepository.countByOwnerFirstNameOrLastName(firstName, lastName);
+	}
+	
+	@Cacheable(value = Constants.LISTING_COUNT_CACHE_NAME, key = "'users:first:' + #firstName")
+	public long countUsersByFirstName(String firstName) {
+		return userRepository.countByFirstName(firstName);
+	}
+	
+	@Cacheable(value = Constants.LISTING_COUNT_CACHE_NAME, key = "'users:full:' + #firstName + ' ' + #lastName")
+	public long countUsersByFirstNameOrLastName(String firstName, String lastName) {
+		return userRepository.countByFirstNameOrLastName(firstName, lastName);
+	}
+}
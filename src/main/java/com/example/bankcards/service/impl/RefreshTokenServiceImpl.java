@@ -1,8 +1,10 @@
 package com.example.bankcards.service.impl;
 
+import com.example.bankcards.datasource.Workload;
 import com.example.bankcards.entity.RefreshToken;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.enums.TokenType;
+import com.example.bankcards.enums.WorkloadClass;
 import com.example.bankcards.repository.RefreshTokenRepository;
 import com.example.bankcards.repository.UserRepository;
 import com.example.bankcards.service.RefreshTokenService;
@@ -22,6 +24,7 @@ import java.util.UUID;
 
 @Service
 @Slf4j
+@Workload(WorkloadClass.AUTH)
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 	private final RefreshTokenRepository refreshTokenRepository;
 	private final UserRepository userRepository;
@@ -99,7 +102,7 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 	
 	@Override
 	public RefreshToken verifyRefreshToken(String refreshToken) {
-		Optional<RefreshToken> token = refreshTokenRepository.findByToken(refreshToken);
+		Optional<RefreshToken> token = refreshTokenRepository.findWithUserByToken(refreshToken);
 		
 		if (token.isEmpty()) {
 			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token not found");
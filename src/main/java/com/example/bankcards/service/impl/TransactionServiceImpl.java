@@ -1,27 +1,34 @@
 package com.example.bankcards.service.impl;
 
+import com.example.bankcards.datasource.Workload;
 import com.example.bankcards.dto.request.TransactionRequest;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.enums.BankCardStatus;
+import com.example.bankcards.enums.BankError;
+import com.example.bankcards.enums.TransferFailureReason;
+import com.example.bankcards.enums.WorkloadClass;
+import com.example.bankcards.metrics.TransferMetrics;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.service.TransactionService;
-import com.example.bankcards.util.Constants;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Workload(WorkloadClass.TRANSFERS)
 public class TransactionServiceImpl implements TransactionService {
 	private final CardRepository cardRepository;
+	private final CardViewCache cardViewCache;
+	private final TransferMetrics transferMetrics;
 	
 	@Override
 	@Transactional
@@ -35,7 +42,8 @@ public class TransactionServiceImpl implements TransactionService {
 		
 		if (senderCardId.equals(recipientCardId)) {
 			log.error("makeTransactionBetweenCards[1]: Sender and recipient cards are the same");
-			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sender and recipient cards must be different");
+			transferMetrics.rejected(TransferFailureReason.SAME_CARD);
+			throw BankError.SAME_CARD.exception();
 		}
 		
 		log.info(
@@ -43,16 +51,20 @@ public class TransactionServiceImpl implements TransactionService {
 				senderCardId, recipientCardId, amount
 		);
 		
-		Card senderCard = cardRepository.findByOwnerAndId(user, senderCardId)
+		List<Card> cards = cardRepository.findTransferCards(user, senderCardId, recipientCardId);
+		
+		Card senderCard = findCard(cards, senderCardId)
 				.orElseThrow(() -> {
 					log.error("makeTransactionBetweenCards[3]: Sender card not found ({})", senderCardId);
-					return new ResponseStatusException(HttpStatus.NOT_FOUND, "Sender card not found");
+					transferMetrics.rejected(TransferFailureReason.CARD_NOT_FOUND);
+					return BankError.SENDER_CARD_NOT_FOUND.exception();
 				});
 		
-		Card recipientCard = cardRepository.findById(recipientCardId)
+		Card recipientCard = findCard(cards, recipientCardId)
 				.orElseThrow(() -> {
 					log.error("makeTransactionBetweenCards[4]: Recipient card not found ({})", recipientCardId);
-					return new ResponseStatusException(HttpStatus.NOT_FOUND, "Recipient card not found");
+					transferMetrics.rejected(TransferFailureReason.CARD_NOT_FOUND);
+					return BankError.RECIPIENT_CARD_NOT_FOUND.exception();
 				});
 		
 		log.debug(
@@ -75,6 +87,7 @@ public class TransactionServiceImpl implements TransactionService {
 		
 		cardRepository.save(senderCard);
 		cardRepository.save(recipientCard);
+		cardViewCache.evictAfterCommit(senderCardId, recipientCardId);
 		
 		log.info(
 			"makeTransactionBetweenCards[7]: Transaction completed successfully (newSenderBalance={}, newRecipientBalance={})",
@@ -83,6 +96,12 @@ public class TransactionServiceImpl implements TransactionService {
 		);
 	}
 	
+	private static Optional<Card> findCard(List<Card> cards, UUID id) {
+		return cards.stream()
+				.filter(card -> card.getId().equals(id))
+				.findFirst();
+	}
+	
 	private void validateTransaction(BigDecimal amount, Card senderCard, Card recipientCard) {
 		log.debug(
 			"validateTransaction[1]: Validating transaction (amount={}, senderId={}, recipientId={})",
@@ -91,23 +110,27 @@ public class TransactionServiceImpl implements TransactionService {
 		
 		if (amount.compareTo(BigDecimal.ZERO) <= 0) {
 			log.warn("validateTransaction[2]: Invalid transaction amount: {}", amount);
-			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Amount must be greater than zero");
+			transferMetrics.rejected(TransferFailureReason.INVALID_AMOUNT);
+			throw BankError.INVALID_AMOUNT.exception();
 		}
 		
 		if (senderCard.getStatus() != BankCardStatus.ACTIVE) {
 			log.warn("validateTransaction[3]: Sender card is not active: id={}, status={}", senderCard.getId(), senderCard.getStatus());
-			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sender card is not active");
+			transferMetrics.rejected(TransferFailureReason.INACTIVE_CARD);
+			throw BankError.SENDER_CARD_INACTIVE.exception();
 		}
 		
 		if (recipientCard.getStatus() != BankCardStatus.ACTIVE) {
 			log.warn("validateTransaction[4]: Recipient card is not active: id={}, status={}", recipientCard.getId(), recipientCard.getStatus());
-			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Recipient card is not active");
+			transferMetrics.rejected(TransferFailureReason.INACTIVE_CARD);
+			throw BankError.RECIPIENT_CARD_INACTIVE.exception();
 		}
 		
 		if (senderCard.getBalance().compareTo(amount) < 0) {
 			log.warn("validateTransaction[5]: Not enough funds: senderId={}, balance={}, attemptedAmount={}",
 					senderCard.getId(), senderCard.getBalance(), amount);
-			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, Constants.NOT_ENOUGH_MONEY_ERROR_MESSAGE);
+			transferMetrics.rejected(TransferFailureReason.INSUFFICIENT_FUNDS);
+			throw BankError.NOT_ENOUGH_MONEY.exception();
 		}
 		
 		log.debug(
@@ -1,26 +1,29 @@
 package com.example.bankcards.service.impl;
 
+import com.example.bankcards.coalescing.Coalesce;
+import com.example.bankcards.datasource.Workload;
 import com.example.bankcards.dto.UserDto;
 import com.example.bankcards.dto.request.RegisterRequest;
+import com.example.bankcards.dto.response.EstimatedPage;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.BankError;
+import com.example.bankcards.enums.CountMode;
 import com.example.bankcards.enums.Role;
+import com.example.bankcards.enums.WorkloadClass;
 import com.example.bankcards.repository.UserRepository;
 import com.example.bankcards.service.UserService;
-import com.example.bankcards.util.Constants;
 import com.example.bankcards.util.mappers.UserMapper;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatus;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
 import java.util.List;
@@ -34,15 +37,15 @@ public class UserServiceImpl implements UserService {
 	private final UserRepository userRepository;
 	private final PasswordEncoder passwordEncoder;
 	private final UserMapper userMapper;
+	private final ListingCountService listingCountService;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public UserDto getUserById(UUID id) {
 		Optional<User> userResponse = userRepository.findById(id);
 		
 		if (userResponse.isEmpty()) {
-			throw new ResponseStatusException(
-					HttpStatus.NOT_FOUND, Constants.USER_NOT_FOUND_ERROR_MESSAGE
-			);
+			throw BankError.USER_NOT_FOUND.exception();
 		}
 		
 		return  userMapper.userToUserDto(userResponse.get());
@@ -52,10 +55,7 @@ public class UserServiceImpl implements UserService {
 	public User getUserByEmail(String email) {
 		return userRepository.findByEmail(email)
 				.orElseThrow(
-						() -> new ResponseStatusException(
-								HttpStatus.NOT_FOUND,
-								String.format(Constants.USER_WITH_EMAIL_NOT_FOUND_ERROR_MESSAGE, email)
-						)
+						() -> BankError.USER_WITH_EMAIL_NOT_FOUND.exception(email)
 				);
 	}
 	
@@ -84,9 +84,7 @@ public class UserServiceImpl implements UserService {
 		Optional<User> oldUserInstance = userRepository.findById(userDto.getId());
 		
 		if (oldUserInstance.isEmpty()) {
-			throw new ResponseStatusException(
-					HttpStatus.NOT_FOUND, Constants.USER_NOT_FOUND_ERROR_MESSAGE
-			);
+			throw BankError.USER_NOT_FOUND.exception();
 		}
 	
 		User oldUser = oldUserInstance.get();
@@ -114,10 +112,7 @@ public class UserServiceImpl implements UserService {
 		}
 		
 		if (userRepository.existsByEmail(newEmail)) {
-			throw new ResponseStatusException(
-					HttpStatus.BAD_REQUEST,
-					String.format(Constants.USER_EMAIL_ALREADY_EXISTS_ERROR_MESSAGE, newEmail)
-			);
+			throw BankError.USER_EMAIL_ALREADY_EXISTS.exception(newEmail);
 		}
 	}
 	
@@ -128,16 +123,20 @@ public class UserServiceImpl implements UserService {
 			return;
 		}
 		
-		throw new ResponseStatusException(
-				HttpStatus.BAD_REQUEST,
-				Constants.USER_ROLE_CONSTANCE_ERROR_MESSAGE
-		);
+		throw BankError.USER_ROLE_CONSTANCE.exception();
 	}
 	
 	@Override
-	public Page<UserDto> getUsers(int page, int size, String q) {
+	@Transactional(readOnly = true)
+	@Workload(WorkloadClass.LISTINGS)
+	@Coalesce
+	public Page<UserDto> getUsers(int page, int size, String q, CountMode countMode) {
 		Pageable pageable = PageRequest.of(page, size);
 		
+		if (countMode == CountMode.APPROX) {
+			return getUsersApprox(pageable, q);
+		}
+		
 		if (q == null || q.isEmpty()) {
 			Page<User> userPage = userRepository.findAll(pageable);
 			return userPage.map(userMapper::userToUserDto);
@@ -158,7 +157,36 @@ public class UserServiceImpl implements UserService {
 				.map(userMapper::userToUserDto);
 	}
 	
+	private Page<UserDto> getUsersApprox(Pageable pageable, String q) {
+		if (q == null || q.isEmpty()) {
+			return EstimatedPage.of(
+					userRepository.findSliceBy(pageable).map(userMapper::userToUserDto),
+					listingCountService::estimateUsers
+			);
+		}
+		
+		List<String> searchItems = Arrays.stream(q.trim().split(" ")).toList();
+		String firstName = searchItems.get(0);
+		
+		if (searchItems.size() > 1) {
+			String lastName = searchItems.get(1);
+			
+			return EstimatedPage.of(
+					userRepository.findSliceByFirstNameOrLastName(firstName, lastName, pageable)
+							.map(userMapper::userToUserDto),
+					() -> listingCountService.countUsersByFirstNameOrLastName(firstName, lastName)
+			);
+		}
+		
+		return EstimatedPage.of(
+				userRepository.findSliceByFirstName(firstName, pageable).map(userMapper::userToUserDto),
+				() -> listingCountService.countUsersByFirstName(firstName)
+		);
+	}
+	
 	@Override
+	@Transactional(readOnly = true)
+	@Coalesce
 	public UserDto getCurrentUser() {
 		String email = SecurityContextHolder
 				.getContext()
@@ -174,10 +202,7 @@ public class UserServiceImpl implements UserService {
 	@Transactional
 	public void deleteUser(UUID id) {
 		if (!userRepository.existsById(id)) {
-			throw new ResponseStatusException(
-					HttpStatus.NOT_FOUND,
-					Constants.USER_NOT_FOUND_ERROR_MESSAGE
-			);
+			throw BankError.USER_NOT_FOUND.exception();
 		}
 		
 		userRepository.deleteById(id);
@@ -0,0 +1,127 @@
+package com.example.bankcards.throttling;
+
+import com.example.bankcards.util.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sheds load with a fast 503 once a route group has as many requests in flight as its adaptive limit allows.
+ * Runs ahead of the security chain, so a shed request costs neither a blacklist lookup nor a connection.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+	private static final String RETRY_AFTER_SECONDS = "1";
+	
+	private final List<Route> routes = new ArrayList<>();
+	private final ObjectMapper objectMapper;
+	
+	public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+		this.objectMapper = objectMapper;
+		
+		for (Map.Entry<String, ConcurrencyLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+			ConcurrencyLimitProperties.Group group = entry.getValue();
+			ConcurrencyLimiter limiter = new ConcurrencyLimiter(entry.getKey(), group);
+			
+			Gauge.builder("concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+					.tag("group", limiter.getName())
+					.register(meterRegistry);
+			Gauge.builder("concurrency.inflight", limiter, ConcurrencyLimiter::getInflightCount)
+					.tag("group", limiter.getName())
+					.register(meterRegistry);
+			Counter rejections = Counter.builder("concurrency.rejected")
+					.tag("group", limiter.getName())
+					.register(meterRegistry);
+			
+			routes.add(new Route(limiter, RouteMatcher.of(group.getPatterns(), group.getMethods()), rejections));
+		}
+	}
+	
+	@Override
+	protected void doFilterInternal(
+			@NonNull HttpServletRequest request,
+			@NonNull HttpServletResponse response,
+			@NonNull FilterChain filterChain
+	) throws ServletException, IOException {
+		Route route = match(request);
+		
+		if (route == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		
+		ConcurrencyLimiter limiter = route.limiter();
+		int inflight = limiter.tryAcquire(capFor(limiter));
+		
+		if (inflight == 0) {
+			log.debug("doFilterInternal[1]: shedding {} {}, group {} at limit {}",
+					request.getMethod(), request.getRequestURI(), limiter.getName(), limiter.getLimit());
+			route.rejections().increment();
+			sendErrorResponse(response);
+			return;
+		}
+		
+		int limitBefore = limiter.getLimit();
+		long start = System.nanoTime();
+		
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			limiter.release(System.nanoTime() - start, inflight, response.getStatus() == HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			
+			if (limiter.getLimit() != limitBefore) {
+				log.debug("doFilterInternal[2]: group {} limit {} -> {}", limiter.getName(), limitBefore, limiter.getLimit());
+			}
+		}
+	}
+	
+	private Route match(HttpServletRequest request) {
+		return routes.stream()
+				.filter(route -> route.matcher().matches(request))
+				.findFirst()
+				.orElse(null);
+	}
+	
+	/**
+	 * A group gets its full limit unless a more important group is congested, then it drops to its minimum.
+	 */
+	private int capFor(ConcurrencyLimiter limiter) {
+		for (Route route : routes) {
+			ConcurrencyLimiter other = route.limiter();
+			
+			if (other.getPriority() < limiter.getPriority() && other.isCongested()) {
+				return limiter.getMinLimit();
+			}
+		}
+		return limiter.getLimit();
+	}
+	
+	private void sendErrorResponse(HttpServletResponse response) throws IOException {
+		ProblemDetail errorResponse = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, Constants.SERVICE_BUSY_ERROR_MESSAGE);
+		response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+		response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+		response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+		response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+		response.getWriter().flush();
+	}
+	
+	private record Route(ConcurrencyLimiter limiter, RouteMatcher matcher, Counter rejections) {
+	}
+}
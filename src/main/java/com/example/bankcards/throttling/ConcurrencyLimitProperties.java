@@ -0,0 +1,42 @@
+package com.example.bankcards.throttling;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitProperties {
+	private boolean enabled;
+	
+	/**
+	 * Route groups in matching order, the first group whose patterns match the request wins.
+	 */
+	private Map<String, Group> groups = new LinkedHashMap<>();
+	
+	@Data
+	public static class Group {
+		private List<String> patterns = List.of();
+		
+		/**
+		 * Empty matches every method.
+		 */
+		private List<String> methods = List.of();
+		
+		/**
+		 * Lower is more important. While a more important group is congested this one is held at {@code minLimit}.
+		 */
+		private int priority;
+		private int initialLimit = 20;
+		private int minLimit = 5;
+		private int maxLimit = 200;
+		
+		/**
+		 * How much the short-term latency may exceed the long-term baseline before the limit starts shrinking.
+		 */
+		private double tolerance = 1.5;
+	}
+}
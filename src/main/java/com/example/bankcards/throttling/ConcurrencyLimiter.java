@@ -0,0 +1,69 @@
+package com.example.bankcards.throttling;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-flight counter of one route group, admitted against its {@link GradientLimit}.
+ */
+public class ConcurrencyLimiter {
+	@Getter
+	private final String name;
+	@Getter
+	private final int priority;
+	private final GradientLimit limit;
+	private final AtomicInteger inflight = new AtomicInteger();
+	
+	public ConcurrencyLimiter(String name, ConcurrencyLimitProperties.Group group) {
+		this.name = name;
+		this.priority = group.getPriority();
+		this.limit = new GradientLimit(group.getInitialLimit(), group.getMinLimit(), group.getMaxLimit(), group.getTolerance());
+	}
+	
+	/**
+	 * @return the number of requests in flight including this one, or 0 when {@code cap} is reached
+	 */
+	public int tryAcquire(int cap) {
+		while (true) {
+			int current = inflight.get();
+			
+			if (current >= cap) {
+				return 0;
+			}
+			if (inflight.compareAndSet(current, current + 1)) {
+				return current + 1;
+			}
+		}
+	}
+	
+	public void release(long latencyNanos, int inflightAtStart, boolean dropped) {
+		inflight.decrementAndGet();
+		
+		if (dropped) {
+			limit.onDropped();
+		} else {
+			limit.onSample(latencyNanos, inflightAtStart);
+		}
+	}
+	
+	public int getLimit() {
+		return limit.getLimit();
+	}
+	
+	public int getMinLimit() {
+		return limit.getMinLimit();
+	}
+	
+	public int getInflightCount() {
+		return inflight.get();
+	}
+	
+	/**
+	 * At its limit, or busy with latency above the tolerated baseline.
+	 */
+	public boolean isCongested() {
+		int current = inflight.get();
+		return current >= limit.getLimit() || current > 0 && limit.getGradient() < 1.0;
+	}
+}
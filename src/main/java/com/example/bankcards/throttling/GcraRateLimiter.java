@@ -0,0 +1,177 @@
+package com.example.bankcards.throttling;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GCRA limiter backed by {@code scripts/gcra.lua}, so every node shares one budget per key.
+ * <p>
+ * Instead of one round trip per request the limiter leases a few tokens at once and hands them out locally
+ * until they are used up or {@code leaseTtl} passes. Leased tokens are already spent in Redis, so leasing
+ * never lets more requests through than the limit. The unused tokens of an expired lease are given back with
+ * the next lease request, which keeps sparse traffic from burning a whole lease per request. An expired lease
+ * is kept until its tokens would have been re-emitted anyway, after that there is nothing left to give back.
+ * A denial is remembered locally until its retry time, so a client hammering past its limit doesn't reach Redis either.
+ */
+@Slf4j
+public class GcraRateLimiter {
+	@SuppressWarnings("rawtypes")
+	private static final RedisScript<List> GCRA_SCRIPT = RedisScript.of(new ClassPathResource("scripts/gcra.lua"), List.class);
+	
+	private final StringRedisTemplate redisTemplate;
+	private final int leaseSize;
+	private final long leaseTtlNanos;
+	private final Cache<String, Lease> leases = Caffeine.newBuilder()
+			.maximumSize(100_000)
+			.expireAfter(Expiry.<String, Lease>writing((key, lease) -> Duration.ofNanos(lease.evictAtNanos - System.nanoTime())))
+			.build();
+	
+	public GcraRateLimiter(StringRedisTemplate redisTemplate, int leaseSize, Duration leaseTtl) {
+		this.redisTemplate = redisTemplate;
+		this.leaseSize = leaseSize;
+		this.leaseTtlNanos = leaseTtl.toNanos();
+	}
+	
+	public RateLimitDecision tryAcquire(String key, int limit, Duration period) {
+		long now = System.nanoTime();
+		Lease lease = leases.getIfPresent(key);
+		
+		if (lease != null) {
+			RateLimitDecision decision = lease.tryTake(now);
+			
+			if (decision != null) {
+				return decision;
+			}
+		}
+		
+		return acquireRemote(key, limit, period, now, lease == null ? 0 : lease.drain());
+	}
+	
+	@SuppressWarnings("unchecked")
+	private RateLimitDecision acquireRemote(String key, int limit, Duration period, long now, int returned) {
+		int requested = Math.max(1, Math.min(leaseSize, limit / 10));
+		double emissionIntervalMs = (double) period.toMillis() / limit;
+		List<Long> result;
+		
+		try {
+			result = redisTemplate.execute(
+					GCRA_SCRIPT,
+					List.of(key),
+					Double.toString(emissionIntervalMs),
+					Integer.toString(limit),
+					Integer.toString(requested),
+					Integer.toString(returned)
+			);
+		} catch (DataAccessException e) {
+			log.warn("acquireRemote[1]: rate limit check failed for {}, allowing: {}", key, e.getMessage());
+			return RateLimitDecision.allowUnlimited();
+		}
+		
+		int granted = result.get(0).intValue();
+		int remaining = result.get(1).intValue();
+		long retryAfterMs = result.get(2);
+		long resetAfterMs = result.get(3);
+		
+		if (granted == 0) {
+			leases.put(key, Lease.denied(now, retryAfterMs, resetAfterMs));
+			return new RateLimitDecision(false, 0, retryAfterMs, resetAfterMs);
+		}
+		
+		if (granted > 1) {
+			long reemittedAfterNanos = (long) ((granted - 1) * emissionIntervalMs * 1_000_000);
+			leases.put(key, Lease.granted(now, granted - 1, remaining, resetAfterMs, leaseTtlNanos, reemittedAfterNanos));
+		} else {
+			leases.invalidate(key);
+		}
+		
+		return new RateLimitDecision(true, remaining + granted - 1, 0, resetAfterMs);
+	}
+	
+	private static final class Lease {
+		private final long expiresAtNanos;
+		private final long evictAtNanos;
+		private final long resetAtNanos;
+		private final int remoteRemaining;
+		private final boolean denied;
+		private int tokens;
+		
+		private Lease(long expiresAtNanos, long evictAtNanos, long resetAtNanos, int remoteRemaining, boolean denied, int tokens) {
+			this.expiresAtNanos = expiresAtNanos;
+			this.evictAtNanos = evictAtNanos;
+			this.resetAtNanos = resetAtNanos;
+			this.remoteRemaining = remoteRemaining;
+			this.denied = denied;
+			this.tokens = tokens;
+		}
+		
+		/**
+		 * @param reemittedAfterNanos time until the leased tokens would be back in the Redis budget without a refund
+		 */
+		static Lease granted(
+			long now,
+			int tokens,
+			int remoteRemaining,
+			long resetAfterMs,
+			long ttlNanos,
+			long reemittedAfterNanos
+		) {
+			long expiresAt = now + ttlNanos;
+			
+			return new Lease(
+					expiresAt,
+					Math.max(expiresAt, now + reemittedAfterNanos),
+					now + TimeUnit.MILLISECONDS.toNanos(resetAfterMs),
+					remoteRemaining,
+					false,
+					tokens
+			);
+		}
+		
+		static Lease denied(long now, long retryAfterMs, long resetAfterMs) {
+			long expiresAt = now + TimeUnit.MILLISECONDS.toNanos(retryAfterMs);
+			
+			return new Lease(expiresAt, expiresAt, now + TimeUnit.MILLISECONDS.toNanos(resetAfterMs), 0, true, 0);
+		}
+		
+		/**
+		 * @return {@code null} when the lease can't answer and Redis has to be asked
+		 */
+		synchronized RateLimitDecision tryTake(long now) {
+			if (now >= expiresAtNanos) {
+				return null;
+			}
+			
+			long resetAfterMs = TimeUnit.NANOSECONDS.toMillis(Math.max(0, resetAtNanos - now));
+			
+			if (denied) {
+				return new RateLimitDecision(false, 0, TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - now) + 1, resetAfterMs);
+			}
+			if (tokens == 0) {
+				return null;
+			}
+			
+			tokens--;
+			return new RateLimitDecision(true, remoteRemaining + tokens, 0, resetAfterMs);
+		}
+		
+		/**
+		 * @return the tokens left to give back to Redis, only once so that two threads replacing the lease don't both return them
+		 */
+		synchronized int drain() {
+			int unused = tokens;
+			tokens = 0;
+			
+			return unused;
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package com.example.bankcards.throttling;
+
+/**
+ * Adaptive concurrency limit after Netflix's Gradient2: compares the short-term average latency with
+ * a long-term baseline. While they agree the limit grows by a queue allowance of {@code sqrt(limit)},
+ * once latency inflates the limit shrinks in proportion.
+ */
+public class GradientLimit {
+	private static final int SHORT_WINDOW = 10;
+	private static final int LONG_WINDOW = 600;
+	private static final double SMOOTHING = 0.2;
+	private static final double DROP_BACKOFF = 0.9;
+	
+	private final int minLimit;
+	private final int maxLimit;
+	private final double tolerance;
+	private final MovingAverage shortLatency = new MovingAverage(SHORT_WINDOW);
+	private final MovingAverage longLatency = new MovingAverage(LONG_WINDOW);
+	
+	private volatile double estimatedLimit;
+	private volatile double gradient = 1.0;
+	
+	public GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.tolerance = tolerance;
+		this.estimatedLimit = clamp(initialLimit);
+	}
+	
+	public int getLimit() {
+		return (int) estimatedLimit;
+	}
+	
+	public int getMinLimit() {
+		return minLimit;
+	}
+	
+	/**
+	 * Below 1 the short-term latency is above the tolerated baseline, i.e. the backend is slowing down.
+	 */
+	public double getGradient() {
+		return gradient;
+	}
+	
+	/**
+	 * @param inflight requests in flight when this one started, including itself
+	 */
+	public synchronized void onSample(long latencyNanos, int inflight) {
+		double shortAverage = shortLatency.add(latencyNanos);
+		double longAverage = longLatency.add(latencyNanos);
+		
+		// Under sustained overload the baseline itself drifts up; pull it back towards the recent latency.
+		if (longAverage / shortAverage > 2) {
+			longLatency.scale(0.95);
+		}
+		
+		// Far below the limit latency says nothing about it, so don't let an idle period inflate it.
+		if (inflight < estimatedLimit / 2) {
+			gradient = 1.0;
+			return;
+		}
+		
+		gradient = Math.max(0.5, Math.min(1.0, tolerance * longAverage / shortAverage));
+		double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+		estimatedLimit = clamp(estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+	}
+	
+	/**
+	 * The request was rejected further down (bulkhead, pool timeout), back off without waiting for latency to show it.
+	 */
+	public synchronized void onDropped() {
+		gradient = 0.5;
+		estimatedLimit = clamp(estimatedLimit * DROP_BACKOFF);
+	}
+	
+	private double clamp(double limit) {
+		return Math.max(minLimit, Math.min(maxLimit, limit));
+	}
+	
+	private static final class MovingAverage {
+		private final int window;
+		private double value;
+		private int count;
+		
+		private MovingAverage(int window) {
+			this.window = window;
+		}
+		
+		/**
+		 * Plain average while warming up, exponential once the window is full.
+		 */
+		private double add(double sample) {
+			if (count < window) {
+				count++;
+				value += (sample - value) / count;
+			} else {
+				value += (sample - value) * 2 / (window + 1);
+			}
+			return value;
+		}
+		
+		private void scale(double factor) {
+			value *= factor;
+		}
+	}
+}
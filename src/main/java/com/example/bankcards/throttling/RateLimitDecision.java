@@ -0,0 +1,17 @@
+package com.example.bankcards.throttling;
+
+/**
+ * @param remaining    requests left before the limit is hit
+ * @param retryAfterMs when denied, how long until the next request is allowed
+ * @param resetAfterMs how long until the full limit is available again
+ */
+public record RateLimitDecision(
+	boolean allowed,
+	int remaining,
+	long retryAfterMs,
+	long resetAfterMs
+) {
+	public static RateLimitDecision allowUnlimited() {
+		return new RateLimitDecision(true, -1, 0, 0);
+	}
+}
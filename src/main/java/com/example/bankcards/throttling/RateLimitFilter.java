@@ -0,0 +1,114 @@
+package com.example.bankcards.throttling;
+
+import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.Role;
+import com.example.bankcards.util.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies the first matching rule, keyed by the authenticated user or, for anonymous requests such as
+ * {@code /api/auth/**}, by client IP. Runs after the security chain so the user is known, and answers
+ * with the IETF draft {@code RateLimit-*} headers.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+	public static final String LIMIT_HEADER = "RateLimit-Limit";
+	public static final String REMAINING_HEADER = "RateLimit-Remaining";
+	public static final String RESET_HEADER = "RateLimit-Reset";
+	public static final String POLICY_HEADER = "RateLimit-Policy";
+	
+	private final List<Rule> rules = new ArrayList<>();
+	private final GcraRateLimiter rateLimiter;
+	private final ObjectMapper objectMapper;
+	private final String keyPrefix;
+	
+	public RateLimitFilter(RateLimitProperties properties, GcraRateLimiter rateLimiter, ObjectMapper objectMapper) {
+		this.rateLimiter = rateLimiter;
+		this.objectMapper = objectMapper;
+		this.keyPrefix = properties.getKeyPrefix();
+		
+		for (Map.Entry<String, RateLimitProperties.Rule> entry : properties.getRules().entrySet()) {
+			RateLimitProperties.Rule rule = entry.getValue();
+			rules.add(new Rule(entry.getKey(), rule, RouteMatcher.of(rule.getPatterns(), rule.getMethods())));
+		}
+	}
+	
+	@Override
+	protected void doFilterInternal(
+			@NonNull HttpServletRequest request,
+			@NonNull HttpServletResponse response,
+			@NonNull FilterChain filterChain
+	) throws ServletException, IOException {
+		Rule rule = rules.stream()
+				.filter(candidate -> candidate.matcher().matches(request))
+				.findFirst()
+				.orElse(null);
+		
+		if (rule == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		User user = authentication != null && authentication.getPrincipal() instanceof User principal ? principal : null;
+		Role role = user != null ? user.getRole() : null;
+		String subject = user != null ? "user:" + user.getId() : "ip:" + request.getRemoteAddr();
+		
+		int limit = rule.properties().getLimit(role);
+		long periodSeconds = rule.properties().getPeriod().toSeconds();
+		RateLimitDecision decision = rateLimiter.tryAcquire(
+				keyPrefix + ":" + rule.name() + ":" + subject,
+				limit,
+				rule.properties().getPeriod()
+		);
+		
+		if (decision.remaining() >= 0) {
+			response.setHeader(LIMIT_HEADER, Integer.toString(limit));
+			response.setHeader(REMAINING_HEADER, Integer.toString(decision.remaining()));
+			response.setHeader(RESET_HEADER, Long.toString(toSeconds(decision.resetAfterMs())));
+			response.setHeader(POLICY_HEADER, limit + ";w=" + periodSeconds);
+		}
+		
+		if (!decision.allowed()) {
+			log.debug("doFilterInternal[1]: rate limit {} exceeded by {}", rule.name(), subject);
+			sendErrorResponse(response, decision.retryAfterMs());
+			return;
+		}
+		
+		filterChain.doFilter(request, response);
+	}
+	
+	private void sendErrorResponse(HttpServletResponse response, long retryAfterMs) throws IOException {
+		ProblemDetail errorResponse = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, Constants.TOO_MANY_REQUESTS_ERROR_MESSAGE);
+		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+		response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+		response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(toSeconds(retryAfterMs)));
+		response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+		response.getWriter().flush();
+	}
+	
+	private static long toSeconds(long millis) {
+		return (millis + 999) / 1000;
+	}
+	
+	private record Rule(String name, RateLimitProperties.Rule properties, RouteMatcher matcher) {
+	}
+}
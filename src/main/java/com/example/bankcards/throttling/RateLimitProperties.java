@@ -0,0 +1,54 @@
+package com.example.bankcards.throttling;
+
+import com.example.bankcards.enums.Role;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+	private boolean enabled;
+	private String keyPrefix = "rate-limit";
+	
+	/**
+	 * Tokens taken from Redis at once and then handed out locally. Capped at a tenth of the rule's limit.
+	 */
+	private int leaseSize = 10;
+	
+	/**
+	 * How long locally leased tokens stay usable, unused ones are dropped afterwards.
+	 */
+	private Duration leaseTtl = Duration.ofSeconds(1);
+	
+	/**
+	 * Rules in matching order, the first rule whose patterns match the request wins.
+	 */
+	private Map<String, Rule> rules = new LinkedHashMap<>();
+	
+	@Data
+	public static class Rule {
+		private List<String> patterns = List.of();
+		
+		/**
+		 * Empty matches every method.
+		 */
+		private List<String> methods = List.of();
+		private int limit = 60;
+		private Duration period = Duration.ofMinutes(1);
+		
+		/**
+		 * Overrides {@code limit} for authenticated users with the given role.
+		 */
+		private Map<Role, Integer> roleLimits = new EnumMap<>(Role.class);
+		
+		public int getLimit(Role role) {
+			return role == null ? limit : roleLimits.getOrDefault(role, limit);
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package com.example.bankcards.throttling;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * Path patterns plus optional HTTP methods, as configured for a route group or rule.
+ */
+record RouteMatcher(List<PathPattern> patterns, List<String> methods) {
+	
+	static RouteMatcher of(List<String> patterns, List<String> methods) {
+		return new RouteMatcher(patterns.stream().map(PathPatternParser.defaultInstance::parse).toList(), methods);
+	}
+	
+	boolean matches(HttpServletRequest request) {
+		if (!methods.isEmpty() && methods.stream().noneMatch(request.getMethod()::equalsIgnoreCase)) {
+			return false;
+		}
+		
+		PathContainer path = PathContainer.parsePath(request.getRequestURI());
+		return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+	}
+}
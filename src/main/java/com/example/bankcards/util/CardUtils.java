@@ -10,6 +10,26 @@ public class CardUtils {
 	public static int NUMBER_LENGTH = 16;
 	private final CardRepository cardRepository;
 	
+	public static String maskNumber(String number) {
+		if (number == null) {
+			throw new IllegalArgumentException("Number cannot be null");
+		}
+		
+		String lastNumbers = number.substring(number.length() - 4);
+		String group = "*".repeat(4);
+		
+		StringBuilder builder = new StringBuilder();
+		
+		for (int i = 0; i < 2; i++) {
+			builder.append(group);
+			builder.append(" ");
+		}
+		
+		builder.append(lastNumbers);
+		
+		return builder.toString();
+	}
+	
 	public String generateNumber() {
 		StringBuilder sb = new StringBuilder();
 		int firstNumber = (int) (Math.random() * 10);
@@ -3,10 +3,17 @@ package com.example.bankcards.util;
 import java.util.List;
 
 public final class Constants {
-	public static final List<String> ENDPOINT_WHITELIST = List.of("/api/auth/**", "/v3/api-docs/**", "/swagger-ui/**");
+	public static final List<String> ENDPOINT_WHITELIST = List.of(
+			"/api/auth/**",
+			"/v3/api-docs/**",
+			"/swagger-ui/**",
+			"/actuator/health/**",
+			"/actuator/prometheus/**"
+	);
 	public static final String BEARER_PREFIX = "Bearer ";
 	
 	public static final String BLACKLIST_CACHE_NAME = "jwt-blacklist";
+	public static final String LISTING_COUNT_CACHE_NAME = "listing-count";
 	
 	public static final String NOT_ENOUGH_MONEY_ERROR_MESSAGE = "Not enough money on sender card";
 	public static final String USER_WITH_EMAIL_NOT_FOUND_ERROR_MESSAGE = "User with email %s not found";
@@ -19,4 +26,6 @@ public final class Constants {
 	public static final String PASSWORD_VALIDATION_MESSAGE = "Password must have a minimum of 8 and maximum of 255 characters";
 	public static final String TRANSACTION_MAKE_SUCCESS_MESSAGE = "Transaction made successfully";
 	public static final String UNAUTHORIZED_ERROR_MESSAGE = "You're not authorized to access this resource.";
+	public static final String SERVICE_BUSY_ERROR_MESSAGE = "Service is busy, try again later";
+	public static final String TOO_MANY_REQUESTS_ERROR_MESSAGE = "Too many requests, try again later";
 }
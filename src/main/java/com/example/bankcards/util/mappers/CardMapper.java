@@ -1,7 +1,10 @@
 package com.example.bankcards.util.mappers;
 
 import com.example.bankcards.dto.CardDto;
+import com.example.bankcards.dto.CardOwnerDto;
+import com.example.bankcards.dto.projection.CardSummary;
 import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.User;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -9,5 +12,16 @@ import org.mapstruct.Mapping;
 public interface CardMapper {
 	@Mapping(target = "maskedNumber", expression = "java(card.getMaskedNumber())")
 	CardDto cardToCardDto(Card card);
-	Card cardDtoToCard(CardDto card);
+	
+	@Mapping(target = "maskedNumber", expression = "java(card.maskedNumber())")
+	@Mapping(target = "owner", expression = "java(card.owner())")
+	CardDto cardSummaryToCardDto(CardSummary card);
+	
+	default CardOwnerDto userToCardOwnerDto(User user) {
+		if (user == null) {
+			return null;
+		}
+		
+		return CardOwnerDto.of(user.getId(), user.getFirstName(), user.getLastName());
+	}
 }
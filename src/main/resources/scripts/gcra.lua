@@ -0,0 +1,25 @@
+-- Generic Cell Rate Algorithm. KEYS[1] holds the theoretical arrival time (TAT) in milliseconds.
+-- ARGV[1] emission interval in ms (period / limit), ARGV[2] limit, ARGV[3] tokens requested,
+-- ARGV[4] unused tokens of an expired lease given back first (optional).
+-- Grants up to the requested number of tokens and returns {granted, remaining, retry after ms, reset after ms}.
+local emission = tonumber(ARGV[1])
+local limit = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+local returned = tonumber(ARGV[4]) or 0
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local tolerance = emission * limit
+
+local tat = math.max((tonumber(redis.call('GET', KEYS[1])) or now) - returned * emission, now)
+local available = math.floor((now + tolerance - tat) / emission)
+local granted = math.min(requested, available)
+
+if granted < 1 then
+	return {0, 0, math.ceil(tat + emission - tolerance - now), math.ceil(tat - now)}
+end
+
+tat = tat + granted * emission
+redis.call('SET', KEYS[1], string.format('%.3f', tat), 'PX', math.ceil(tat - now))
+
+return {granted, available - granted, 0, math.ceil(tat - now)}
@@ -0,0 +1,60 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.dto.CardDto;
+import com.example.bankcards.dto.CardOwnerDto;
+import com.example.bankcards.dto.projection.CardSummary;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.BankCardStatus;
+import com.example.bankcards.enums.Role;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Entities and DTOs shaped like production rows, shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+	static final String CARD_NUMBER = "4276123456789012";
+	
+	private BenchmarkFixtures() {
+	}
+	
+	static User user(Role role) {
+		return User.builder()
+				.id(UUID.randomUUID())
+				.email("john.doe@example.com")
+				.firstName("John")
+				.lastName("Doe")
+				.password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2jV8Zp1c1lZg3j3wL6FJ8mW")
+				.role(role)
+				.build();
+	}
+	
+	static Card card(User owner) {
+		return Card.builder()
+				.id(UUID.randomUUID())
+				.number(CARD_NUMBER)
+				.owner(owner)
+				.balance(BigDecimal.valueOf(1_250.50))
+				.status(BankCardStatus.ACTIVE)
+				.expiryDate(LocalDate.of(2029, 12, 31))
+				.build();
+	}
+	
+	static CardSummary cardSummary(User owner) {
+		return new CardSummary(UUID.randomUUID(), CARD_NUMBER, BankCardStatus.ACTIVE, LocalDate.of(2029, 12, 31),
+				BigDecimal.valueOf(1_250.50), owner.getId(), owner.getFirstName(), owner.getLastName());
+	}
+	
+	static CardDto cardDto(User owner) {
+		return CardDto.builder()
+				.id(UUID.randomUUID())
+				.maskedNumber("**** **** 9012")
+				.owner(CardOwnerDto.of(owner.getId(), owner.getFirstName(), owner.getLastName()))
+				.status(BankCardStatus.ACTIVE)
+				.expiryDate(LocalDate.of(2029, 12, 31))
+				.build();
+	}
+}
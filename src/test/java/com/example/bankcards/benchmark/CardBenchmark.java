@@ -0,0 +1,46 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.enums.Role;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.util.CardUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Masking, done once per card in every listing, and number generation with a repository that never finds a clash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardBenchmark {
+	private Card card;
+	private CardUtils cardUtils;
+	
+	@Setup
+	public void setUp() {
+		card = BenchmarkFixtures.card(BenchmarkFixtures.user(Role.USER));
+		
+		CardRepository cardRepository = (CardRepository) Proxy.newProxyInstance(
+				CardRepository.class.getClassLoader(),
+				new Class<?>[] {CardRepository.class},
+				(proxy, method, args) -> Boolean.FALSE
+		);
+		cardUtils = new CardUtils(cardRepository);
+	}
+	
+	@Benchmark
+	public String maskedNumber() {
+		return card.getMaskedNumber();
+	}
+	
+	@Benchmark
+	public String generateNumber() {
+		return cardUtils.generateNumber();
+	}
+}
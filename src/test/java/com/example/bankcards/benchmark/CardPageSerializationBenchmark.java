@@ -0,0 +1,55 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.dto.CardDto;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.Role;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code GET /api/cards} response body, with the mapper configured like {@code spring.jackson} in {@code application.yml}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardPageSerializationBenchmark {
+	@Param({"20", "100"})
+	private int pageSize;
+	
+	private ObjectMapper objectMapper;
+	private Page<CardDto> page;
+	
+	@Setup
+	public void setUp() {
+		objectMapper = new ObjectMapper()
+				.registerModule(new JavaTimeModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		
+		User owner = BenchmarkFixtures.user(Role.USER);
+		List<CardDto> cards = new ArrayList<>(pageSize);
+		
+		for (int i = 0; i < pageSize; i++) {
+			cards.add(BenchmarkFixtures.cardDto(owner));
+		}
+		
+		page = new PageImpl<>(cards, PageRequest.of(0, pageSize), 10_000);
+	}
+	
+	@Benchmark
+	public byte[] serialize() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(page);
+	}
+}
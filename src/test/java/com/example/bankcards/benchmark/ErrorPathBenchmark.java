@@ -0,0 +1,66 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.enums.BankError;
+import com.example.bankcards.exception.BankException;
+import com.example.bankcards.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A rejected transfer from throw to JSON body: the exception is thrown {@code depth} frames down,
+ * roughly the depth of a service call under the servlet, security and AOP stack, then mapped by
+ * {@link GlobalExceptionHandler} and serialized. {@code statusException} is the old path, {@code bankException} the stackless one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+	@Param({"20", "120"})
+	private int depth;
+	
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	
+	@Benchmark
+	public byte[] statusException() throws JsonProcessingException {
+		try {
+			throwAt(depth, false);
+		} catch (BankException e) {
+			return objectMapper.writeValueAsBytes(handler.handleBankException(e));
+		} catch (ResponseStatusException e) {
+			return objectMapper.writeValueAsBytes(handler.handleResponseStatusException(e));
+		}
+		throw new IllegalStateException("nothing thrown");
+	}
+	
+	@Benchmark
+	public byte[] bankException() throws JsonProcessingException {
+		try {
+			throwAt(depth, true);
+		} catch (BankException e) {
+			return objectMapper.writeValueAsBytes(handler.handleBankException(e));
+		} catch (ResponseStatusException e) {
+			return objectMapper.writeValueAsBytes(handler.handleResponseStatusException(e));
+		}
+		throw new IllegalStateException("nothing thrown");
+	}
+	
+	private static void throwAt(int depth, boolean stackless) {
+		if (depth > 0) {
+			throwAt(depth - 1, stackless);
+			return;
+		}
+		
+		throw stackless
+				? BankError.NOT_ENOUGH_MONEY.exception()
+				: new ResponseStatusException(HttpStatus.BAD_REQUEST, BankError.NOT_ENOUGH_MONEY.getMessage());
+	}
+}
@@ -0,0 +1,53 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.Role;
+import com.example.bankcards.service.impl.JwtService;
+import com.example.bankcards.util.JwtUtils;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token issuing and the two parses {@code RequestFilter} does per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+	private static final long EXPIRATION_IN_MS = 3_600_000;
+	
+	private SecretKey accessSecret;
+	private JwtService jwtService;
+	private User user;
+	private String token;
+	
+	@Setup
+	public void setUp() {
+		accessSecret = Jwts.SIG.HS256.key().build();
+		jwtService = new JwtService(accessSecret, Jwts.SIG.HS256.key().build(), null);
+		user = BenchmarkFixtures.user(Role.USER);
+		token = JwtUtils.generateToken(user, EXPIRATION_IN_MS, accessSecret);
+	}
+	
+	@Benchmark
+	public String generateToken() {
+		return JwtUtils.generateToken(user, EXPIRATION_IN_MS, accessSecret);
+	}
+	
+	@Benchmark
+	public boolean validateAccessToken() {
+		return jwtService.validateAccessToken(token);
+	}
+	
+	@Benchmark
+	public String extractUsername() {
+		return jwtService.extractUsername(token);
+	}
+}
@@ -0,0 +1,140 @@
+package com.example.bankcards.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.example.bankcards.logging.SamplingTurboFilter;
+import io.jsonwebtoken.ExpiredJwtException;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caller-side logging cost of one transfer and one expired-token rejection, replaying the statements of
+ * {@code TransactionServiceImpl} and {@code JwtService}: {@code dev} is the synchronous DEBUG console with stack traces
+ * the app used to ship with, {@code prod} the async, sampled JSON setup of {@code logback-spring.xml}.
+ * Output goes to a discarding stream, so formatting is measured rather than the terminal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class LoggingBenchmark {
+	private static final String CONSOLE_PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5level --- [%15.15thread] %-40.40logger{39} : %msg%n";
+	
+	@Param({"dev", "prod"})
+	private String mode;
+	
+	private LoggerContext context;
+	private Logger transactions;
+	private Logger jwt;
+	private UUID senderCardId;
+	private UUID recipientCardId;
+	private BigDecimal amount;
+	private ExpiredJwtException expired;
+	
+	@Setup
+	public void setUp() {
+		context = new LoggerContext();
+		context.putObject(Environment.class.getName(), new StandardEnvironment());
+		
+		boolean prod = mode.equals("prod");
+		ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+		root.addAppender(prod ? async(appender(jsonEncoder())) : appender(patternEncoder()));
+		context.getLogger("com.example.bankcards").setLevel(prod ? Level.INFO : Level.DEBUG);
+		
+		if (prod) {
+			SamplingTurboFilter sampling = new SamplingTurboFilter();
+			sampling.setLoggerPrefix("com.example.bankcards");
+			sampling.setContext(context);
+			sampling.start();
+			context.addTurboFilter(sampling);
+		}
+		
+		transactions = context.getLogger("com.example.bankcards.service.impl.TransactionServiceImpl");
+		jwt = context.getLogger("com.example.bankcards.service.impl.JwtService");
+		senderCardId = UUID.randomUUID();
+		recipientCardId = UUID.randomUUID();
+		amount = BigDecimal.TEN;
+		expired = new ExpiredJwtException(null, null, "JWT expired 3600000 milliseconds ago");
+	}
+	
+	@TearDown
+	public void tearDown() {
+		context.stop();
+	}
+	
+	@Benchmark
+	public void transfer() {
+		transactions.info("makeTransactionBetweenCards[2]: Starting transaction (senderCardId={}, recipientCardId={}, amount={})",
+				senderCardId, recipientCardId, amount);
+		transactions.debug("makeTransactionBetweenCards[5]: Sender card before transaction (id={}, balance={}, status={})",
+				senderCardId, amount, "ACTIVE");
+		transactions.debug("makeTransactionBetweenCards[6]: Recipient card before transaction (id={}, balance={}, status={})",
+				recipientCardId, amount, "ACTIVE");
+		transactions.debug("validateTransaction[1]: Validating transaction (amount={}, senderId={}, recipientId={})",
+				amount, senderCardId, recipientCardId);
+		transactions.debug("validateTransaction[7]: Transaction validation passed for senderId={}, recipientId={}",
+				senderCardId, recipientCardId);
+		transactions.info("makeTransactionBetweenCards[7]: Transaction completed successfully (newSenderBalance={}, newRecipientBalance={})",
+				amount, amount);
+	}
+	
+	@Benchmark
+	public void expiredToken() {
+		if (mode.equals("prod")) {
+			jwt.debug("JwtService[validateToken]: expired {} token: {}", "access", expired.getMessage());
+		} else {
+			jwt.error("JwtService[validateToken]: expired token", expired);
+		}
+	}
+	
+	private OutputStreamAppender<ILoggingEvent> appender(Encoder<ILoggingEvent> encoder) {
+		OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+		appender.setContext(context);
+		appender.setEncoder(encoder);
+		appender.setOutputStream(OutputStream.nullOutputStream());
+		appender.start();
+		return appender;
+	}
+	
+	private AsyncAppender async(OutputStreamAppender<ILoggingEvent> delegate) {
+		AsyncAppender appender = new AsyncAppender();
+		appender.setContext(context);
+		appender.setQueueSize(8192);
+		appender.setNeverBlock(true);
+		appender.addAppender(delegate);
+		appender.start();
+		return appender;
+	}
+	
+	private PatternLayoutEncoder patternEncoder() {
+		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		encoder.setContext(context);
+		encoder.setPattern(CONSOLE_PATTERN);
+		encoder.start();
+		return encoder;
+	}
+	
+	private StructuredLogEncoder jsonEncoder() {
+		StructuredLogEncoder encoder = new StructuredLogEncoder();
+		encoder.setContext(context);
+		encoder.setFormat("ecs");
+		encoder.start();
+		return encoder;
+	}
+}
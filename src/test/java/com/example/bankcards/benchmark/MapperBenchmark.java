@@ -0,0 +1,62 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.dto.CardDto;
+import com.example.bankcards.dto.UserDto;
+import com.example.bankcards.dto.projection.CardSummary;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.Role;
+import com.example.bankcards.util.mappers.CardMapper;
+import com.example.bankcards.util.mappers.CardMapperImpl;
+import com.example.bankcards.util.mappers.UserMapper;
+import com.example.bankcards.util.mappers.UserMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The generated MapStruct mappers, per element of a listing or a user lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+	private final CardMapper cardMapper = new CardMapperImpl();
+	private final UserMapper userMapper = new UserMapperImpl();
+	
+	private User user;
+	private UserDto userDto;
+	private Card card;
+	private CardSummary cardSummary;
+	
+	@Setup
+	public void setUp() {
+		user = BenchmarkFixtures.user(Role.USER);
+		userDto = userMapper.userToUserDto(user);
+		card = BenchmarkFixtures.card(user);
+		cardSummary = BenchmarkFixtures.cardSummary(user);
+	}
+	
+	@Benchmark
+	public CardDto cardToCardDto() {
+		return cardMapper.cardToCardDto(card);
+	}
+	
+	@Benchmark
+	public CardDto cardSummaryToCardDto() {
+		return cardMapper.cardSummaryToCardDto(cardSummary);
+	}
+	
+	@Benchmark
+	public UserDto userToUserDto() {
+		return userMapper.userToUserDto(user);
+	}
+	
+	@Benchmark
+	public User userDtoToUser() {
+		return userMapper.userDtoToUser(userDto);
+	}
+}
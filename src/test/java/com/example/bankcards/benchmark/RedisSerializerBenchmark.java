@@ -0,0 +1,91 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.cache.SmileRedisSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of cache values with the JDK default and the Smile codec.
+ * Encoded sizes are reported through the {@code encodedSize} benchmark's {@link AuxCounters}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializerBenchmark {
+	@Param({"count", "token"})
+	private String value;
+	
+	private Object payload;
+	private RedisSerializer<Object> jdk;
+	private RedisSerializer<Object> smile;
+	private RedisSerializer<Object> smileLz4;
+	private byte[] jdkBytes;
+	private byte[] smileBytes;
+	private byte[] smileLz4Bytes;
+	
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		payload = value.equals("count")
+				? (Object) 12_345L
+				: "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJ1c2VyQGV4YW1wbGUuY29tIiwiaWF0IjoxNzAwMDAwMDAwfQ.signature";
+		Class<Object> type = (Class<Object>) payload.getClass();
+		
+		jdk = RedisSerializer.java();
+		smile = new SmileRedisSerializer<>(type, -1);
+		smileLz4 = new SmileRedisSerializer<>(type, 0);
+		jdkBytes = jdk.serialize(payload);
+		smileBytes = smile.serialize(payload);
+		smileLz4Bytes = smileLz4.serialize(payload);
+	}
+	
+	@Benchmark
+	public byte[] encodeJdk() {
+		return jdk.serialize(payload);
+	}
+	
+	@Benchmark
+	public byte[] encodeSmile() {
+		return smile.serialize(payload);
+	}
+	
+	@Benchmark
+	public byte[] encodeSmileLz4() {
+		return smileLz4.serialize(payload);
+	}
+	
+	@Benchmark
+	public Object decodeJdk() {
+		return jdk.deserialize(jdkBytes);
+	}
+	
+	@Benchmark
+	public Object decodeSmile() {
+		return smile.deserialize(smileBytes);
+	}
+	
+	@Benchmark
+	public Object decodeSmileLz4() {
+		return smileLz4.deserialize(smileLz4Bytes);
+	}
+	
+	@Benchmark
+	public void encodedSize(EncodedSize size) {
+		size.jdkBytes = jdkBytes.length;
+		size.smileBytes = smileBytes.length;
+		size.smileLz4Bytes = smileLz4Bytes.length;
+	}
+	
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class EncodedSize {
+		public long jdkBytes;
+		public long smileBytes;
+		public long smileLz4Bytes;
+	}
+}
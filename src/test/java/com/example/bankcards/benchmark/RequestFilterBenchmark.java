@@ -0,0 +1,83 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.Role;
+import com.example.bankcards.metrics.AuthMetrics;
+import com.example.bankcards.metrics.RequestStageTimer;
+import com.example.bankcards.security.RequestFilter;
+import com.example.bankcards.security.TokenBlacklistService;
+import com.example.bankcards.service.impl.JwtService;
+import com.example.bankcards.util.Constants;
+import com.example.bankcards.util.JwtUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RequestFilter} from header to security context. The blacklist misses and the user lookup is an in-memory
+ * {@code UserDetailsService}, so what's left is token parsing, verification, metrics and the context setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestFilterBenchmark {
+	private RequestFilter filter;
+	private String validToken;
+	private String expiredToken;
+	
+	@Setup
+	public void setUp() {
+		SecretKey accessSecret = Jwts.SIG.HS256.key().build();
+		JwtService jwtService = new JwtService(accessSecret, Jwts.SIG.HS256.key().build(), null);
+		User user = BenchmarkFixtures.user(Role.USER);
+		
+		filter = new RequestFilter(
+				new ObjectMapper(),
+				jwtService,
+				new TokenBlacklistService(),
+				username -> user,
+				new AuthMetrics(new SimpleMeterRegistry()),
+				new RequestStageTimer()
+		);
+		validToken = JwtUtils.generateToken(user, 3_600_000, accessSecret);
+		expiredToken = JwtUtils.generateToken(user, -60_000, accessSecret);
+	}
+	
+	@Benchmark
+	public MockHttpServletResponse validToken() throws ServletException, IOException {
+		return filter(validToken);
+	}
+	
+	@Benchmark
+	public MockHttpServletResponse expiredToken() throws ServletException, IOException {
+		return filter(expiredToken);
+	}
+	
+	private MockHttpServletResponse filter(String token) throws ServletException, IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cards");
+		request.addHeader(HttpHeaders.AUTHORIZATION, Constants.BEARER_PREFIX + token);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		
+		try {
+			filter.doFilter(request, response, new MockFilterChain());
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+		
+		return response;
+	}
+}
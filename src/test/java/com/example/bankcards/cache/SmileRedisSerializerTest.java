@@ -0,0 +1,47 @@
+package com.example.bankcards.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmileRedisSerializerTest {
+	
+	@Test
+	void serialize_ShouldRoundTripWithoutCompression_WhenBelowThreshold() {
+		SmileRedisSerializer<Long> serializer = new SmileRedisSerializer<>(Long.class, 64);
+		
+		byte[] bytes = serializer.serialize(42L);
+		
+		assertThat(bytes[0]).isEqualTo((byte) 0);
+		assertThat(serializer.deserialize(bytes)).isEqualTo(42L);
+		assertThat(bytes.length).isLessThan(RedisSerializer.java().serialize(42L).length);
+	}
+	
+	@Test
+	void serialize_ShouldCompress_WhenAboveThreshold() {
+		SmileRedisSerializer<String> serializer = new SmileRedisSerializer<>(String.class, 64);
+		String value = "eyJhbGciOiJIUzI1NiJ9.".repeat(20);
+		
+		byte[] bytes = serializer.serialize(value);
+		
+		assertThat(bytes[0]).isEqualTo((byte) 1);
+		assertThat(bytes.length).isLessThan(value.length());
+		assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+	}
+	
+	@Test
+	void deserialize_ShouldReadJdkSerializedBlacklistEntry_WrittenBeforeCodecChange() {
+		SmileRedisSerializer<String> serializer = new SmileRedisSerializer<>(String.class, 64);
+		String jwt = "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJ1c2VyIn0.signature";
+		
+		assertThat(serializer.deserialize(RedisSerializer.java().serialize(jwt))).isEqualTo(jwt);
+	}
+	
+	@Test
+	void deserialize_ShouldReturnNull_ForJdkSerializedPayloadOfAnotherType() {
+		SmileRedisSerializer<String> serializer = new SmileRedisSerializer<>(String.class, -1);
+		
+		assertThat(serializer.deserialize(RedisSerializer.java().serialize(42L))).isNull();
+	}
+}
@@ -0,0 +1,134 @@
+package com.example.bankcards.cache;
+
+import com.example.bankcards.util.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheManagerTest {
+	private static final String CHANNEL = "cache-invalidation";
+	
+	@Mock
+	private StringRedisTemplate redisTemplate;
+	
+	private TwoLevelCacheProperties properties;
+	private ConcurrentMapCacheManager remoteCacheManager;
+	private SimpleMeterRegistry meterRegistry;
+	private TwoLevelCacheManager cacheManager;
+	
+	@BeforeEach
+	void setUp() {
+		TwoLevelCacheProperties.CacheSpec consistent = new TwoLevelCacheProperties.CacheSpec();
+		consistent.setLocalEnabled(false);
+		
+		properties = new TwoLevelCacheProperties();
+		properties.setInvalidationChannel(CHANNEL);
+		properties.getCaches().put("consistent", consistent);
+		properties.getCaches().put(Constants.BLACKLIST_CACHE_NAME, consistent);
+		
+		remoteCacheManager = new ConcurrentMapCacheManager();
+		meterRegistry = new SimpleMeterRegistry();
+		cacheManager = new TwoLevelCacheManager(remoteCacheManager, redisTemplate, properties, meterRegistry);
+	}
+	
+	@Test
+	void get_ShouldServeFromLocal_AfterRemoteHit() {
+		remoteCacheManager.getCache("tokens").put("jwt", true);
+		Cache cache = cacheManager.getCache("tokens");
+		
+		assertThat(cache.get("jwt", Boolean.class)).isTrue();
+		remoteCacheManager.getCache("tokens").clear();
+		assertThat(cache.get("jwt", Boolean.class)).isTrue();
+		
+		assertThat(remoteGets("tokens", "hit")).isEqualTo(1.0);
+		assertThat(meterRegistry.get("cache.gets").tag("cache", "tokens").tag("layer", "local").tag("result", "hit")
+				.functionCounter().count()).isEqualTo(1.0);
+	}
+	
+	@Test
+	void put_ShouldPublishInvalidation() {
+		cacheManager.getCache("tokens").put("jwt", true);
+		
+		ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+		verify(redisTemplate).convertAndSend(eq(CHANNEL), message.capture());
+		assertThat(message.getValue()).endsWith("|tokens|jwt");
+	}
+	
+	@Test
+	void onMessage_ShouldEvictLocalEntry_WhenSentByAnotherNode() {
+		Cache cache = cacheManager.getCache("tokens");
+		cache.put("jwt", null);
+		remoteCacheManager.getCache("tokens").put("jwt", true);
+		
+		cacheManager.onMessage(message(UUID.randomUUID() + "|tokens|jwt"), null);
+		
+		assertThat(cache.get("jwt", Boolean.class)).isTrue();
+	}
+	
+	@Test
+	void onMessage_ShouldIgnoreOwnInvalidation() {
+		Cache cache = cacheManager.getCache("tokens");
+		cache.put("jwt", false);
+		
+		ArgumentCaptor<String> sent = ArgumentCaptor.forClass(String.class);
+		verify(redisTemplate).convertAndSend(eq(CHANNEL), sent.capture());
+		remoteCacheManager.getCache("tokens").put("jwt", true);
+		
+		cacheManager.onMessage(message(sent.getValue()), null);
+		
+		assertThat(cache.get("jwt", Boolean.class)).isFalse();
+	}
+	
+	@Test
+	void get_ShouldAlwaysReadRemote_WhenLocalDisabled() {
+		Cache cache = cacheManager.getCache("consistent");
+		cache.put("key", 1);
+		remoteCacheManager.getCache("consistent").put("key", 2);
+		
+		assertThat(cache.get("key", Integer.class)).isEqualTo(2);
+		verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+	}
+	
+	@Test
+	void blacklist_ShouldBeSeenImmediatelyByAnotherNode_WithoutInvalidation() {
+		TwoLevelCacheManager otherNode = new TwoLevelCacheManager(
+				remoteCacheManager, redisTemplate, properties, new SimpleMeterRegistry()
+		);
+		Cache blacklist = cacheManager.getCache(Constants.BLACKLIST_CACHE_NAME);
+		
+		assertThat(blacklist.get("jwt", () -> null)).isNull();
+		otherNode.getCache(Constants.BLACKLIST_CACHE_NAME).put("jwt", "jwt");
+		
+		assertThat(blacklist.get("jwt", String.class)).isEqualTo("jwt");
+		verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+	}
+	
+	private double remoteGets(String cacheName, String result) {
+		return meterRegistry.get("cache.gets")
+				.tag("cache", cacheName)
+				.tag("layer", "remote")
+				.tag("result", result)
+				.functionCounter()
+				.count();
+	}
+	
+	private static DefaultMessage message(String body) {
+		return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+	}
+}
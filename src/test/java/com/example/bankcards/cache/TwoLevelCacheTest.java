@@ -0,0 +1,56 @@
+package com.example.bankcards.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+	
+	@Mock
+	private Cache remote;
+	
+	private TwoLevelCache cache;
+	
+	@BeforeEach
+	void setUp() {
+		cache = new TwoLevelCache(remote, Caffeine.newBuilder().build(), (name, key) -> {});
+	}
+	
+	@Test
+	void getWithLoader_ShouldLookUpRemoteOnce_OnLocalMiss() {
+		when(remote.get(eq("jwt"), any(Callable.class))).thenReturn(true);
+		
+		assertThat(cache.get("jwt", () -> false)).isTrue();
+		assertThat(cache.get("jwt", () -> false)).isTrue();
+		
+		verify(remote, times(1)).get(eq("jwt"), any(Callable.class));
+		verify(remote, never()).get("jwt");
+		assertThat(cache.getRemoteHits()).isEqualTo(1);
+	}
+	
+	@Test
+	void getWithLoader_ShouldNotFillLocal_WhenInvalidatedDuringLoad() {
+		when(remote.get(eq("jwt"), any(Callable.class))).thenAnswer(invocation -> {
+			cache.evictLocal("jwt");
+			return false;
+		});
+		when(remote.get("jwt")).thenReturn(new SimpleValueWrapper(true));
+		
+		assertThat(cache.get("jwt", () -> false)).isFalse();
+		
+		assertThat(cache.get("jwt", Boolean.class)).isTrue();
+	}
+}
@@ -0,0 +1,171 @@
+package com.example.bankcards.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoalescingAspectTest {
+	
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private SimpleMeterRegistry meterRegistry;
+	private Service target;
+	private Service service;
+	
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		target = new Service();
+		service = proxy(target, new CoalescingAspect(meterRegistry, Duration.ofMillis(500)));
+	}
+	
+	@AfterEach
+	void tearDown() {
+		target.release.countDown();
+		executor.shutdownNow();
+	}
+	
+	@Test
+	void concurrentIdenticalCalls_ShouldShareOneExecution() throws Exception {
+		CompletableFuture<List<Integer>> leader = call("alice", 1);
+		assertThat(target.entered.await(1, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<List<Integer>> follower = call("alice", 1);
+		awaitFollower();
+		
+		target.release.countDown();
+		
+		assertThat(follower.get(1, TimeUnit.SECONDS)).isSameAs(leader.get(1, TimeUnit.SECONDS));
+		assertThat(target.executions.get()).isEqualTo(1);
+		assertThat(count("leader")).isEqualTo(1);
+		assertThat(count("follower")).isEqualTo(1);
+	}
+	
+	@Test
+	void differentPrincipals_ShouldNotBeCoalesced() throws Exception {
+		CompletableFuture<List<Integer>> alice = call("alice", 1);
+		assertThat(target.entered.await(1, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<List<Integer>> bob = call("bob", 1);
+		target.release.countDown();
+		
+		alice.get(1, TimeUnit.SECONDS);
+		bob.get(1, TimeUnit.SECONDS);
+		
+		assertThat(target.executions.get()).isEqualTo(2);
+	}
+	
+	@Test
+	void follower_ShouldRunItself_WhenLeaderTakesTooLong() throws Exception {
+		CompletableFuture<List<Integer>> leader = call("alice", 1);
+		assertThat(target.entered.await(1, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<List<Integer>> follower = call("alice", 1);
+		
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+		while (target.executions.get() < 2 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		target.release.countDown();
+		
+		assertThat(follower.get(2, TimeUnit.SECONDS)).isEqualTo(leader.get(1, TimeUnit.SECONDS));
+		assertThat(target.executions.get()).isEqualTo(2);
+		assertThat(count("timeout")).isEqualTo(1);
+	}
+	
+	@Test
+	void followers_ShouldGetLeadersException() throws Exception {
+		CompletableFuture<List<Integer>> leader = call("alice", -1);
+		assertThat(target.entered.await(1, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<List<Integer>> follower = call("alice", -1);
+		awaitFollower();
+		
+		target.release.countDown();
+		
+		assertThatThrownBy(() -> leader.get(1, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> follower.get(1, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(IllegalArgumentException.class);
+		assertThat(target.executions.get()).isEqualTo(1);
+	}
+	
+	@Test
+	void sequentialCalls_ShouldEachExecute() {
+		target.release.countDown();
+		
+		service.read(1);
+		service.read(1);
+		
+		assertThat(target.executions.get()).isEqualTo(2);
+	}
+	
+	private CompletableFuture<List<Integer>> call(String principal, int page) {
+		return CompletableFuture.supplyAsync(() -> {
+			SecurityContextHolder.getContext().setAuthentication(
+					UsernamePasswordAuthenticationToken.authenticated(principal, null, List.of())
+			);
+			
+			try {
+				return service.read(page);
+			} finally {
+				SecurityContextHolder.clearContext();
+			}
+		}, executor);
+	}
+	
+	/**
+	 * The follower is parked on the leader's future as soon as the aspect has seen it, which the leader's
+	 * counter can't show, so give it a moment.
+	 */
+	private static void awaitFollower() throws InterruptedException {
+		Thread.sleep(100);
+	}
+	
+	private double count(String result) {
+		return meterRegistry.get("coalescing.calls").tag("result", result).counter().count();
+	}
+	
+	private static Service proxy(Service target, CoalescingAspect aspect) {
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		factory.setProxyTargetClass(true);
+		factory.addAspect(aspect);
+		
+		return factory.getProxy();
+	}
+	
+	static class Service {
+		private final AtomicInteger executions = new AtomicInteger();
+		private final CountDownLatch entered = new CountDownLatch(1);
+		private final CountDownLatch release = new CountDownLatch(1);
+		
+		@Coalesce
+		public List<Integer> read(int page) {
+			executions.incrementAndGet();
+			entered.countDown();
+			
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			
+			if (page < 0) {
+				throw new IllegalArgumentException("page must not be negative");
+			}
+			return List.of(page);
+		}
+	}
+}
@@ -4,6 +4,8 @@ import com.example.bankcards.dto.request.LoginRequest;
 import com.example.bankcards.dto.request.RegisterRequest;
 import com.example.bankcards.dto.response.JwtResponse;
 import com.example.bankcards.dto.response.LogoutResponse;
+import com.example.bankcards.metrics.AuthMetrics;
+import com.example.bankcards.metrics.RequestStageTimer;
 import com.example.bankcards.repository.UserRepository;
 import com.example.bankcards.security.TokenBlacklistService;
 import com.example.bankcards.service.RefreshTokenService;
@@ -55,6 +57,12 @@ public class AuthControllerTest {
 	@MockitoBean
 	private TokenBlacklistService blacklistService;
 	
+	@MockitoBean
+	private AuthMetrics authMetrics;
+	
+	@MockitoBean
+	private RequestStageTimer requestStageTimer;
+	
 	@MockitoBean
 	private RefreshTokenService refreshTokenService;
 	
@@ -1,10 +1,14 @@
 package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.CardDto;
+import com.example.bankcards.dto.CardOwnerDto;
 import com.example.bankcards.dto.request.CreateCardRequest;
 import com.example.bankcards.dto.response.CardBalanceResponse;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.enums.BankCardStatus;
+import com.example.bankcards.enums.CountMode;
+import com.example.bankcards.metrics.AuthMetrics;
+import com.example.bankcards.metrics.RequestStageTimer;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.UserRepository;
 import com.example.bankcards.security.TokenBlacklistService;
@@ -52,6 +56,12 @@ public class CardControllerTest extends BaseControllerTest {
 	@MockitoBean
 	private TokenBlacklistService blacklistService;
 	
+	@MockitoBean
+	private AuthMetrics authMetrics;
+	
+	@MockitoBean
+	private RequestStageTimer requestStageTimer;
+	
 	@MockitoBean
 	private AuthService authService;
 	
@@ -84,7 +94,7 @@ public class CardControllerTest extends BaseControllerTest {
 		testCardDto = CardDto.builder()
 				.id(testCardId)
 				.maskedNumber("************1234")
-				.owner(mockUser())
+				.owner(CardOwnerDto.of(mockUser().getId(), "John", "Doe"))
 				.status(BankCardStatus.ACTIVE)
 				.expiryDate(LocalDate.now().plusYears(3))
 				.build();
@@ -230,7 +240,7 @@ public class CardControllerTest extends BaseControllerTest {
 	void getCards_ShouldReturnPageOfCards() throws Exception {
 		Page<CardDto> page = new PageImpl<>(List.of(testCardDto));
 		
-		when(cardService.getCards(eq(0), eq(10), any(String.class), any(User.class))).thenReturn(page);
+		when(cardService.getCards(eq(0), eq(10), any(String.class), any(User.class), eq(CountMode.EXACT))).thenReturn(page);
 		
 		mockMvc.perform(get("/api/cards")
 						.header(HttpHeaders.AUTHORIZATION, token)
@@ -240,7 +250,7 @@ public class CardControllerTest extends BaseControllerTest {
 						.param("q", "search"))
 				.andExpect(status().isOk());
 		
-		verify(cardService, times(1)).getCards(eq(0), eq(10), any(String.class), any(User.class));
+		verify(cardService, times(1)).getCards(eq(0), eq(10), any(String.class), any(User.class), eq(CountMode.EXACT));
 	}
 	
 	@Test
@@ -427,7 +437,7 @@ public class CardControllerTest extends BaseControllerTest {
 	@WithMockUser
 	void getCards_ShouldReturnEmptyPage_WhenNoCardsExist() throws Exception {
 		Page<CardDto> emptyPage = new PageImpl<>(Collections.emptyList());
-		when(cardService.getCards(anyInt(), anyInt(), anyString(), any(User.class))).thenReturn(emptyPage);
+		when(cardService.getCards(anyInt(), anyInt(), anyString(), any(User.class), any(CountMode.class))).thenReturn(emptyPage);
 		
 		mockMvc.perform(get("/api/cards")
 						.header(HttpHeaders.AUTHORIZATION, token)
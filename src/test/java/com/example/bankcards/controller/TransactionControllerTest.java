@@ -2,6 +2,8 @@ package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.request.TransactionRequest;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.metrics.AuthMetrics;
+import com.example.bankcards.metrics.RequestStageTimer;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.UserRepository;
 import com.example.bankcards.security.TokenBlacklistService;
@@ -45,6 +47,12 @@ class TransactionControllerTest extends BaseControllerTest {
 	@MockitoBean
 	private TokenBlacklistService blacklistService;
 	
+	@MockitoBean
+	private AuthMetrics authMetrics;
+	
+	@MockitoBean
+	private RequestStageTimer requestStageTimer;
+	
 	@MockitoBean
 	private UserRepository userRepository;
 	
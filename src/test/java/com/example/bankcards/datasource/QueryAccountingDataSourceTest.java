@@ -0,0 +1,78 @@
+package com.example.bankcards.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryAccountingDataSourceTest {
+	
+	private JdbcTemplate jdbcTemplate;
+	private QueryAccounting.Tally previous;
+	
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource database = new DriverManagerDataSource(
+				"jdbc:h2:mem:accounting-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""
+		);
+		jdbcTemplate = new JdbcTemplate(new QueryAccountingDataSource(database));
+		jdbcTemplate.execute("CREATE TABLE card (id INT)");
+		jdbcTemplate.batchUpdate("INSERT INTO card VALUES (?)", List.of(new Object[] {1}, new Object[] {2}, new Object[] {3}));
+	}
+	
+	@AfterEach
+	void tearDown() {
+		QueryAccounting.restore(previous);
+	}
+	
+	@Test
+	void countsStatementsAndFetchedRowsOfTheCurrentTally() {
+		previous = QueryAccounting.begin();
+		
+		List<Integer> ids = jdbcTemplate.queryForList("SELECT id FROM card ORDER BY id", Integer.class);
+		jdbcTemplate.update("UPDATE card SET id = id + 10 WHERE id = ?", 1);
+		
+		QueryAccounting.Tally tally = QueryAccounting.current();
+		assertThat(ids).containsExactly(1, 2, 3);
+		assertThat(tally.getStatements()).isEqualTo(2);
+		assertThat(tally.getRows()).isEqualTo(3);
+		assertThat(tally.getNanos()).isPositive();
+	}
+	
+	@Test
+	void resultSetsAreNotProxied() {
+		previous = QueryAccounting.begin();
+		
+		jdbcTemplate.query("SELECT id FROM card", resultSet -> {
+			assertThat(Proxy.isProxyClass(resultSet.getClass())).isFalse();
+			assertThat(resultSet.isWrapperFor(CountingResultSet.class)).isTrue();
+		});
+	}
+	
+	@Test
+	void nestedTallyDoesNotLeakIntoTheOuterOne() {
+		previous = QueryAccounting.begin();
+		QueryAccounting.Tally outer = QueryAccounting.current();
+		
+		QueryAccounting.Tally restored = QueryAccounting.begin();
+		jdbcTemplate.queryForList("SELECT id FROM card", Integer.class);
+		QueryAccounting.restore(restored);
+		
+		assertThat(QueryAccounting.current()).isSameAs(outer);
+		assertThat(outer.getStatements()).isZero();
+	}
+	
+	@Test
+	void statementsOutsideOfATallyAreNotAccounted() {
+		jdbcTemplate.queryForList("SELECT id FROM card", Integer.class);
+		
+		assertThat(QueryAccounting.current()).isNull();
+	}
+}
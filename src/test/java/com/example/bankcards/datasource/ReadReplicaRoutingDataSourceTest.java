@@ -0,0 +1,151 @@
+package com.example.bankcards.datasource;
+
+import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.WorkloadClass;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica, each table row names its database.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingDataSourceTest {
+	
+	@Mock
+	private StringRedisTemplate redisTemplate;
+	
+	@Mock
+	private ValueOperations<String, String> valueOperations;
+	
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readWrite;
+	private TransactionTemplate readOnly;
+	private User user;
+	
+	@BeforeEach
+	void setUp() {
+		ReadYourWritesTracker tracker = new ReadYourWritesTracker(redisTemplate, Duration.ofSeconds(2));
+		ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(tracker);
+		routingDataSource.setTargetDataSources(Map.of(
+				DataSourceRoute.PRIMARY, database("primary"),
+				DataSourceRoute.REPLICA, database("replica")
+		));
+		routingDataSource.afterPropertiesSet();
+		
+		DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		readWrite = new TransactionTemplate(transactionManager);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		
+		user = User.builder().id(UUID.randomUUID()).email("user@example.com").build();
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+		);
+	}
+	
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+	
+	@Test
+	void readOnlyTransaction_ShouldUseReplica() {
+		when(redisTemplate.hasKey(anyString())).thenReturn(false);
+		
+		assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replica");
+	}
+	
+	@Test
+	void readWriteTransaction_ShouldUsePrimary() {
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		
+		assertThat(readWrite.execute(status -> currentDatabase())).isEqualTo("primary");
+	}
+	
+	@Test
+	void readOnlyTransaction_ShouldUsePrimary_RightAfterWrite() {
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		
+		readWrite.executeWithoutResult(status -> currentDatabase());
+		
+		assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("primary");
+		verify(valueOperations).set(eq("primary-pin:" + user.getId()), eq("1"), eq(Duration.ofSeconds(2)));
+	}
+	
+	@Test
+	void readOnlyTransaction_ShouldUsePrimary_WhenPinnedByAnotherNode() {
+		when(redisTemplate.hasKey("primary-pin:" + user.getId())).thenReturn(true);
+		
+		assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("primary");
+	}
+	
+	@Test
+	void readOnlyTransaction_ShouldUseReplica_WithoutAuthenticatedUser() {
+		SecurityContextHolder.clearContext();
+		
+		assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replica");
+		verifyNoInteractions(redisTemplate);
+	}
+	
+	@Test
+	void authWorkload_ShouldReadOwnWrite_WithoutAuthenticatedUser() {
+		SecurityContextHolder.clearContext();
+		WorkloadClass previous = WorkloadContext.enter(WorkloadClass.AUTH);
+		
+		try {
+			readWrite.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO node VALUES (?)", "registered"));
+			
+			assertThat(readOnly.execute(status ->
+					jdbcTemplate.queryForList("SELECT name FROM node WHERE name = 'registered'", String.class)
+			)).containsExactly("registered");
+		} finally {
+			WorkloadContext.restore(previous);
+		}
+		
+		verifyNoInteractions(redisTemplate);
+	}
+	
+	private String currentDatabase() {
+		List<String> names = jdbcTemplate.queryForList("SELECT name FROM node", String.class);
+		
+		return names.get(0);
+	}
+	
+	private static DataSource database(String name) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""
+		);
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(16))");
+		jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+		
+		return dataSource;
+	}
+}
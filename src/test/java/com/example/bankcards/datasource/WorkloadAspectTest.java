@@ -0,0 +1,112 @@
+package com.example.bankcards.datasource;
+
+import com.example.bankcards.enums.WorkloadClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkloadAspectTest {
+	
+	private Service service;
+	private SimpleMeterRegistry meterRegistry;
+	
+	@BeforeEach
+	void setUp() {
+		WorkloadPoolProperties.Pool transfers = new WorkloadPoolProperties.Pool();
+		transfers.setMaximumPoolSize(1);
+		transfers.setConnectionTimeout(Duration.ofMillis(50));
+		
+		WorkloadPoolProperties properties = new WorkloadPoolProperties();
+		properties.getPools().put(WorkloadClass.TRANSFERS, transfers);
+		
+		meterRegistry = new SimpleMeterRegistry();
+		service = proxy(new Service(), new WorkloadAspect(properties, meterRegistry, true));
+	}
+	
+	@Test
+	void classAnnotation_ShouldSelectWorkload() {
+		assertThat(service.classLevel()).isEqualTo(WorkloadClass.TRANSFERS);
+	}
+	
+	@Test
+	void methodAnnotation_ShouldOverrideClassAnnotation() {
+		assertThat(service.methodLevel()).isEqualTo(WorkloadClass.LISTINGS);
+	}
+	
+	@Test
+	void workload_ShouldBeRestored_AfterCall() {
+		service.methodLevel();
+		
+		assertThat(WorkloadContext.current()).isEqualTo(WorkloadClass.DEFAULT);
+	}
+	
+	@Test
+	void bulkhead_ShouldReject_WhenPoolIsExhausted() throws InterruptedException {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread holder = new Thread(() -> service.hold(entered, release));
+		holder.start();
+		
+		try {
+			assertThat(entered.await(1, TimeUnit.SECONDS)).isTrue();
+			assertThatThrownBy(service::classLevel)
+					.isInstanceOf(ResponseStatusException.class)
+					.extracting(e -> ((ResponseStatusException) e).getStatusCode())
+					.isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+			assertThat(meterRegistry.get("workload.bulkhead.rejected").tag("workload", "transfers").counter().count())
+					.isEqualTo(1.0);
+		} finally {
+			release.countDown();
+			holder.join();
+		}
+	}
+	
+	@Test
+	void bulkhead_ShouldNotApply_ToNestedCallsOfSameWorkload() {
+		assertThat(service.nested(service)).isEqualTo(WorkloadClass.TRANSFERS);
+	}
+	
+	private static Service proxy(Service target, WorkloadAspect aspect) {
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		factory.setProxyTargetClass(true);
+		factory.addAspect(aspect);
+		
+		return factory.getProxy();
+	}
+	
+	@Workload(WorkloadClass.TRANSFERS)
+	static class Service {
+		public WorkloadClass classLevel() {
+			return WorkloadContext.current();
+		}
+		
+		@Workload(WorkloadClass.LISTINGS)
+		public WorkloadClass methodLevel() {
+			return WorkloadContext.current();
+		}
+		
+		public WorkloadClass nested(Service self) {
+			return self.classLevel();
+		}
+		
+		public void hold(CountDownLatch entered, CountDownLatch release) {
+			entered.countDown();
+			
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.config.AppConfig;
+import com.example.bankcards.enums.BankCardStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The reactive-read module's {@code CardJsonContractTest} expects the same JSON from its own {@code CardDto}.
+ */
+class CardJsonContractTest {
+	static final String CARD_JSON = """
+			{
+			  "id": "5f0c7b8e-2a41-4c55-9d0e-0d6f3c1a9b21",
+			  "maskedNumber": "**** **** **** 4444",
+			  "owner": {"id": "0b7e6f64-8c1d-4a8e-b1f2-3c4d5e6f7a8b", "displayName": "John Doe"},
+			  "status": "ACTIVE",
+			  "expiryDate": "2027-05-01"
+			}
+			""";
+	
+	private final ObjectMapper objectMapper = new AppConfig(null, null).objectMapper();
+	
+	@Test
+	void cardDto_ShouldMatchReactiveReadContract() throws Exception {
+		CardDto card = CardDto.builder()
+				.id(UUID.fromString("5f0c7b8e-2a41-4c55-9d0e-0d6f3c1a9b21"))
+				.maskedNumber("**** **** **** 4444")
+				.owner(CardOwnerDto.of(UUID.fromString("0b7e6f64-8c1d-4a8e-b1f2-3c4d5e6f7a8b"), "John", "Doe"))
+				.status(BankCardStatus.ACTIVE)
+				.expiryDate(LocalDate.of(2027, 5, 1))
+				.build();
+		
+		JSONAssert.assertEquals(CARD_JSON, objectMapper.writeValueAsString(card), JSONCompareMode.STRICT);
+	}
+	
+	@Test
+	void cardOwnerDto_ShouldJoinOnlyPresentNameParts() {
+		UUID id = UUID.randomUUID();
+		
+		assertEquals("John Doe", CardOwnerDto.of(id, "John", "Doe").getDisplayName());
+		assertEquals("Doe", CardOwnerDto.of(id, null, "Doe").getDisplayName());
+		assertEquals("John", CardOwnerDto.of(id, "John", null).getDisplayName());
+		assertNull(CardOwnerDto.of(id, null, null).getDisplayName());
+	}
+}
@@ -0,0 +1,56 @@
+package com.example.bankcards.exception;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.enums.BankError;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+	
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+	
+	@Test
+	void bankException_ShouldNotCaptureStackTrace() {
+		BankException exception = BankError.NOT_ENOUGH_MONEY.exception();
+		
+		assertEquals(0, exception.getStackTrace().length);
+		assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+	}
+	
+	@Test
+	void handleBankException_ShouldMapStatusAndFormattedDetail() {
+		UUID cardId = UUID.randomUUID();
+		
+		ProblemDetail problemDetail = handler.handleBankException(
+				BankError.USER_CARD_NOT_FOUND.exception("John", "Doe", cardId)
+		);
+		
+		assertEquals(HttpStatus.NOT_FOUND.value(), problemDetail.getStatus());
+		assertEquals("User John Doe don't has card with id " + cardId, problemDetail.getDetail());
+	}
+	
+	@Test
+	void handleConcurrencyFailureException_ShouldMapOptimisticLockFailureToConflict() {
+		ProblemDetail problemDetail = handler.handleConcurrencyFailureException(
+				new ObjectOptimisticLockingFailureException(Card.class, UUID.randomUUID())
+		);
+		
+		assertEquals(HttpStatus.CONFLICT.value(), problemDetail.getStatus());
+	}
+	
+	@Test
+	void handleConcurrencyFailureException_ShouldMapLockTimeoutToConflict() {
+		ProblemDetail problemDetail = handler.handleConcurrencyFailureException(
+				new CannotAcquireLockException("could not obtain lock on row in relation \"cards\"")
+		);
+		
+		assertEquals(HttpStatus.CONFLICT.value(), problemDetail.getStatus());
+	}
+}
@@ -0,0 +1,97 @@
+package com.example.bankcards.jfr;
+
+import com.example.bankcards.metrics.TimedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrEndpointTest {
+	
+	private final JfrEndpoint endpoint = new JfrEndpoint();
+	
+	@AfterEach
+	void tearDown() {
+		endpoint.stop();
+	}
+	
+	@Test
+	void dump_ShouldContainBankEvents() throws IOException {
+		assertThat(endpoint.start(null, null).getBody().state()).isEqualTo("RUNNING");
+		
+		TimedPasswordEncoder encoder = new TimedPasswordEncoder(new BCryptPasswordEncoder(4), new SimpleMeterRegistry());
+		encoder.matches("password", encoder.encode("password"));
+		
+		List<RecordedEvent> events = read(endpoint.dump().getBody());
+		
+		assertThat(events)
+				.filteredOn(event -> event.getEventType().getName().equals("bank.PasswordHash"))
+				.extracting(event -> event.getString("operation"))
+				.containsExactly("encode", "matches");
+	}
+	
+	@Test
+	void start_ShouldBeRejected_WhileRecording() {
+		endpoint.start(null, 60L);
+		
+		assertThat(endpoint.start("profile", null).getStatus()).isEqualTo(409);
+	}
+	
+	@Test
+	void start_ShouldRejectUnknownSettings() {
+		assertThat(endpoint.start("no-such-settings", null).getStatus()).isEqualTo(WebEndpointResponse.STATUS_BAD_REQUEST);
+	}
+	
+	@Test
+	void stop_ShouldKeepRecordingForDump() throws IOException {
+		endpoint.start(null, null);
+		
+		assertThat(endpoint.stop().getBody().state()).isEqualTo("STOPPED");
+		assertThat(endpoint.dump().getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+	}
+	
+	@Test
+	void start_ShouldBoundRecording_WhenNoMaxAgeGiven() {
+		JfrEndpoint.RecordingStatus status = endpoint.start(null, null).getBody();
+		
+		assertThat(status.maxAge()).isEqualTo(Duration.ofMinutes(15));
+		assertThat(status.maxSize()).isEqualTo(250L * 1024 * 1024);
+	}
+	
+	@Test
+	void dump_ShouldDeletePreviousDump_WhenItWasNeverStreamed() throws IOException {
+		endpoint.start(null, null);
+		
+		Path first = endpoint.dump().getBody().getFile().toPath();
+		Path second = endpoint.dump().getBody().getFile().toPath();
+		
+		assertThat(first).doesNotExist();
+		assertThat(second).exists();
+		Files.delete(second);
+	}
+	
+	private static List<RecordedEvent> read(Resource dump) throws IOException {
+		Path copy = Files.createTempFile("jfr-endpoint-test", ".jfr");
+		
+		try (InputStream inputStream = dump.getInputStream()) {
+			Files.copy(inputStream, copy, StandardCopyOption.REPLACE_EXISTING);
+			return RecordingFile.readAllEvents(copy);
+		} finally {
+			Files.deleteIfExists(copy);
+		}
+	}
+}
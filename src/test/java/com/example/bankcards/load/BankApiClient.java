@@ -0,0 +1,125 @@
+package com.example.bankcards.load;
+
+import com.example.bankcards.util.Constants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Builds the API requests of the workload and reads tokens out of the auth responses.
+ */
+final class BankApiClient {
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	
+	private final HttpClient http = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final URI baseUri;
+	private final String refreshCookieName;
+	
+	BankApiClient(URI baseUri, String refreshCookieName) {
+		this.baseUri = baseUri;
+		this.refreshCookieName = refreshCookieName;
+	}
+	
+	CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+		return http.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+	}
+	
+	HttpResponse<String> sendAndWait(HttpRequest request) throws IOException, InterruptedException {
+		return http.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+	
+	HttpRequest login(String email, String password) {
+		return post("/api/auth/login", null, Map.of("email", email, "password", password));
+	}
+	
+	HttpRequest refresh(String refreshCookie) {
+		return builder("/api/auth/refresh", null)
+				.header(HttpHeaders.COOKIE, refreshCookie)
+				.POST(HttpRequest.BodyPublishers.noBody())
+				.build();
+	}
+	
+	HttpRequest listCards(String accessToken, int page, int size) {
+		return get("/api/cards?page=" + page + "&size=" + size, accessToken);
+	}
+	
+	HttpRequest balance(String accessToken, UUID cardId) {
+		return get("/api/cards/balance/" + cardId, accessToken);
+	}
+	
+	HttpRequest transfer(String accessToken, UUID senderCardId, UUID recipientCardId, BigDecimal amount) {
+		return post("/api/transactions", accessToken, Map.of(
+				"sender_card_id", senderCardId,
+				"recipient_card_id", recipientCardId,
+				"amount", amount
+		));
+	}
+	
+	HttpRequest searchCards(String accessToken, String query) {
+		return get("/api/cards?size=20&count=approx&q=" + URLEncoder.encode(query, StandardCharsets.UTF_8), accessToken);
+	}
+	
+	HttpRequest searchUsers(String accessToken, String query) {
+		return get("/api/users?size=20&count=approx&q=" + URLEncoder.encode(query, StandardCharsets.UTF_8), accessToken);
+	}
+	
+	/**
+	 * Takes the access token from a login or refresh response, and the rotated refresh cookie if one was set.
+	 */
+	void signIn(Session session, HttpResponse<String> response) throws IOException {
+		JsonNode body = objectMapper.readTree(response.body());
+		String refreshCookie = response.headers()
+				.allValues(HttpHeaders.SET_COOKIE)
+				.stream()
+				.filter(cookie -> cookie.startsWith(refreshCookieName + "="))
+				.map(cookie -> cookie.substring(0, cookie.indexOf(';') < 0 ? cookie.length() : cookie.indexOf(';')))
+				.findFirst()
+				.orElse(null);
+		
+		session.signedIn(body.get("token").asText(), refreshCookie);
+	}
+	
+	private HttpRequest get(String path, String accessToken) {
+		return builder(path, accessToken).GET().build();
+	}
+	
+	private HttpRequest post(String path, String accessToken, Object body) {
+		try {
+			return builder(path, accessToken)
+					.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+					.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+					.build();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private HttpRequest.Builder builder(String path, String accessToken) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+		
+		if (accessToken != null) {
+			builder.header(HttpHeaders.AUTHORIZATION, Constants.BEARER_PREFIX + accessToken);
+		}
+		
+		return builder;
+	}
+}
@@ -0,0 +1,125 @@
+package com.example.bankcards.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency, in microseconds from the <em>intended</em> send time, so a stalled server is charged for
+ * the requests it kept waiting. {@link #tick(long)} closes a one-second interval and adds a row to the throughput curve.
+ */
+final class LatencyReport {
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+	private static final double MICROS_PER_MILLI = 1_000.0;
+	
+	private final Map<Operation, Series> series = new EnumMap<>(Operation.class);
+	private final StringBuilder curve = new StringBuilder("second,operation,completed,errors,dropped,p50_ms,p99_ms,max_ms\n");
+	
+	LatencyReport() {
+		for (Operation operation : Operation.values()) {
+			series.put(operation, new Series());
+		}
+	}
+	
+	void record(Operation operation, long latencyNanos, boolean success) {
+		Series target = series.get(operation);
+		target.recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+		
+		if (!success) {
+			target.errors.increment();
+		}
+	}
+	
+	/**
+	 * Counts a request that was due but not sent because {@code maxInFlight} requests were already waiting.
+	 * The driver still {@linkplain #record records} it as a failure at the end of the run.
+	 */
+	void dropped(Operation operation) {
+		series.get(operation).dropped.increment();
+	}
+	
+	synchronized void tick(long second) {
+		series.forEach((operation, target) -> {
+			target.interval = target.recorder.getIntervalHistogram(target.interval);
+			long errors = target.errors.sumThenReset();
+			long dropped = target.dropped.sumThenReset();
+			
+			target.total.add(target.interval);
+			target.totalErrors += errors;
+			target.totalDropped += dropped;
+			
+			if (target.interval.getTotalCount() > 0 || dropped > 0) {
+				curve.append(String.format("%d,%s,%d,%d,%d,%.3f,%.3f,%.3f%n", second, operation.getKey(),
+						target.interval.getTotalCount(), errors, dropped,
+						millis(target.interval, 50), millis(target.interval, 99), target.interval.getMaxValue() / MICROS_PER_MILLI));
+			}
+		});
+	}
+	
+	synchronized void print(PrintStream out, double seconds) {
+		out.printf("%-13s %9s %8s %8s %10s %9s %9s %9s %9s %9s%n",
+				"operation", "requests", "errors", "dropped", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+		
+		series.forEach((operation, target) -> {
+			Histogram total = target.total;
+			
+			if (total.getTotalCount() == 0 && target.totalDropped == 0) {
+				return;
+			}
+			out.printf("%-13s %9d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+					operation.getKey(), total.getTotalCount(), target.totalErrors, target.totalDropped,
+					total.getTotalCount() / seconds,
+					millis(total, 50), millis(total, 90), millis(total, 99), millis(total, 99.9),
+					total.getMaxValue() / MICROS_PER_MILLI);
+		});
+	}
+	
+	/**
+	 * Writes one {@code <operation>.hgrm} percentile distribution per operation, in milliseconds, and {@code throughput.csv}.
+	 */
+	synchronized void write(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		
+		for (Map.Entry<Operation, Series> entry : series.entrySet()) {
+			Histogram total = entry.getValue().total;
+			
+			if (total.getTotalCount() == 0) {
+				continue;
+			}
+			try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey().getKey() + ".hgrm")))) {
+				total.outputPercentileDistribution(out, MICROS_PER_MILLI);
+			}
+		}
+		
+		try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(directory.resolve("throughput.csv")))) {
+			out.print(curve);
+		}
+	}
+	
+	synchronized long totalDropped() {
+		return series.values().stream().mapToLong(target -> target.totalDropped).sum();
+	}
+	
+	private static double millis(Histogram histogram, double percentile) {
+		return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+	}
+	
+	private static final class Series {
+		private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+		private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+		private final LongAdder errors = new LongAdder();
+		private final LongAdder dropped = new LongAdder();
+		private Histogram interval;
+		private long totalErrors;
+		private long totalDropped;
+	}
+}
@@ -0,0 +1,209 @@
+package com.example.bankcards.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a fixed arrival rate, whatever the server's response times: request {@code i} is due at
+ * {@code start + i / rate} and its latency is measured from then, which keeps coordinated omission out of the numbers.
+ * Requests due while {@code maxInFlight} are outstanding are not sent. They are reported as dropped and, once the run
+ * is over, recorded with the latency from their intended send time to the end of the run, since they never completed.
+ */
+@Slf4j
+final class LoadDriver {
+	private static final BigDecimal TRANSFER_AMOUNT = new BigDecimal("0.01");
+	private static final int LISTING_PAGE_SIZE = 20;
+	private static final String[] SEARCHES = {"Anna", "Ivan", "Petrov", "Sidorova"};
+	
+	private final LoadTestConfig config;
+	private final BankApiClient client;
+	private final List<Session> sessions;
+	private final Session admin;
+	private final LatencyReport report;
+	private final Operation[] operations;
+	private final int[] cumulativeWeights;
+	private final List<UUID> recipients;
+	private final ZipfSampler recipientSampler;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final List<Dropped> dropped = new ArrayList<>();
+	
+	LoadDriver(LoadTestConfig config, BankApiClient client, List<Session> sessions, Session admin, LatencyReport report) {
+		this.config = config;
+		this.client = client;
+		this.sessions = sessions;
+		this.admin = admin;
+		this.report = report;
+		
+		Map<Operation, Integer> mix = config.mix();
+		this.operations = mix.keySet().toArray(Operation[]::new);
+		this.cumulativeWeights = new int[operations.length];
+		int sum = 0;
+		
+		for (int i = 0; i < operations.length; i++) {
+			sum += mix.get(operations[i]);
+			cumulativeWeights[i] = sum;
+		}
+		
+		List<UUID> cards = new ArrayList<>();
+		sessions.forEach(session -> cards.addAll(session.getCardIds()));
+		Collections.shuffle(cards);
+		this.recipients = List.copyOf(cards);
+		this.recipientSampler = new ZipfSampler(recipients.size(), config.hotCardSkew());
+	}
+	
+	/**
+	 * @return the number of requests that were due during the measured part of the run
+	 */
+	long run() {
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+		long start = System.nanoTime();
+		long measureStart = start + config.warmup().toNanos();
+		long end = measureStart + config.duration().toNanos();
+		long nextTick = measureStart + TimeUnit.SECONDS.toNanos(1);
+		long second = 0;
+		long due = 0;
+		
+		log.info("run[1]: {} req/s, {} warmup, {} measured", config.rate(), config.warmup(), config.duration());
+		
+		for (long i = 0; ; i++) {
+			long intended = start + i * intervalNanos;
+			
+			if (intended >= end) {
+				break;
+			}
+			
+			while (nextTick <= intended) {
+				report.tick(++second);
+				nextTick += TimeUnit.SECONDS.toNanos(1);
+			}
+			
+			parkUntil(intended);
+			
+			boolean measured = intended >= measureStart;
+			Operation operation = nextOperation();
+			due += measured ? 1 : 0;
+			
+			if (inFlight.get() >= config.maxInFlight()) {
+				if (measured) {
+					report.dropped(operation);
+					dropped.add(new Dropped(operation, intended));
+				}
+				continue;
+			}
+			
+			send(operation, intended, measured);
+		}
+		
+		awaitInFlight(TimeUnit.SECONDS.toNanos(30));
+		long runEnd = System.nanoTime();
+		dropped.forEach(request -> report.record(request.operation(), runEnd - request.intended(), false));
+		report.tick(++second);
+		
+		return due;
+	}
+	
+	private void send(Operation operation, long intended, boolean measured) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Session session = sessions.get(random.nextInt(sessions.size()));
+		boolean refresh = operation == Operation.REFRESH && session.tryStartRefresh();
+		Operation sent = operation == Operation.REFRESH && !refresh ? Operation.LOGIN : operation;
+		
+		HttpRequest request = switch (sent) {
+			case LOGIN -> client.login(session.getEmail(), Seeder.PASSWORD);
+			case REFRESH -> client.refresh(session.getRefreshCookie());
+			case LIST_CARDS -> client.listCards(session.getAccessToken(), 1, LISTING_PAGE_SIZE);
+			case BALANCE -> client.balance(session.getAccessToken(), randomCard(session));
+			case TRANSFER -> transfer(session);
+			case ADMIN_SEARCH -> random.nextBoolean()
+					? client.searchCards(admin.getAccessToken(), String.format("%04d", random.nextInt(10_000)))
+					: client.searchUsers(admin.getAccessToken(), SEARCHES[random.nextInt(SEARCHES.length)]);
+		};
+		
+		inFlight.incrementAndGet();
+		client.send(request).whenComplete((response, failure) -> {
+			long latency = System.nanoTime() - intended;
+			boolean success = failure == null && response.statusCode() < 400;
+			
+			try {
+				if (success && (sent == Operation.LOGIN || sent == Operation.REFRESH)) {
+					client.signIn(session, response);
+				}
+			} catch (IOException e) {
+				success = false;
+			} finally {
+				if (refresh) {
+					session.refreshFinished();
+				}
+				inFlight.decrementAndGet();
+			}
+			
+			if (measured) {
+				report.record(sent, latency, success);
+			}
+		});
+	}
+	
+	private HttpRequest transfer(Session session) {
+		UUID sender = randomCard(session);
+		UUID recipient = recipients.get(recipientSampler.next(ThreadLocalRandom.current()));
+		
+		if (recipient.equals(sender)) {
+			recipient = recipients.get((recipients.indexOf(recipient) + 1) % recipients.size());
+		}
+		
+		return client.transfer(session.getAccessToken(), sender, recipient, TRANSFER_AMOUNT);
+	}
+	
+	private static UUID randomCard(Session session) {
+		List<UUID> cardIds = session.getCardIds();
+		return cardIds.get(ThreadLocalRandom.current().nextInt(cardIds.size()));
+	}
+	
+	private Operation nextOperation() {
+		int draw = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+		
+		for (int i = 0; i < cumulativeWeights.length; i++) {
+			if (draw < cumulativeWeights[i]) {
+				return operations[i];
+			}
+		}
+		
+		return operations[operations.length - 1];
+	}
+	
+	private void awaitInFlight(long timeoutNanos) {
+		long deadline = System.nanoTime() + timeoutNanos;
+		
+		while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+		}
+		
+		if (inFlight.get() > 0) {
+			log.warn("awaitInFlight[1]: {} requests still outstanding, left out of the report", inFlight.get());
+		}
+	}
+	
+	private static void parkUntil(long deadline) {
+		long remaining;
+		
+		while ((remaining = deadline - System.nanoTime()) > 0) {
+			LockSupport.parkNanos(remaining);
+		}
+	}
+	
+	private record Dropped(Operation operation, long intended) {
+	}
+}
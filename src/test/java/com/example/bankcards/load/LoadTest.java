@@ -0,0 +1,143 @@
+package com.example.bankcards.load;
+
+import com.example.bankcards.BankCardsApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Boots the application on a random port against throwaway Postgres and Redis containers, seeds users and cards,
+ * signs everyone in and drives the configured mix at a fixed rate. Prints a per-operation latency table and writes
+ * {@code .hgrm} distributions plus a per-second {@code throughput.csv} to {@code load.outputDir}.
+ * <p>
+ * {@code mvn -Pload test-compile exec:java -Dload.rate=300 -Dload.duration=PT2M -Dload.hotCardSkew=1.2}
+ */
+@Slf4j
+public final class LoadTest {
+	private static final int REDIS_PORT = 6379;
+	private static final String REFRESH_COOKIE_NAME = "jwt-refresh-cookie";
+	
+	private LoadTest() {
+	}
+	
+	public static void main(String[] args) throws Exception {
+		LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+		
+		try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+			 GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(REDIS_PORT)) {
+			postgres.start();
+			redis.start();
+			
+			try (ConfigurableApplicationContext application = start(postgres, redis, config)) {
+				int port = application.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+				BankApiClient client = new BankApiClient(URI.create("http://localhost:" + port), REFRESH_COOKIE_NAME);
+				
+				Seeder seeder = new Seeder(new DriverManagerDataSource(
+						postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()
+				));
+				List<Session> sessions = seeder.seed(config.users(), config.cardsPerUser());
+				Session admin = new Session(Seeder.ADMIN_EMAIL, List.of());
+				signIn(client, sessions, admin);
+				
+				LatencyReport report = new LatencyReport();
+				long due = new LoadDriver(config, client, sessions, admin, report).run();
+				
+				System.out.printf("%n%d requests due over %s at %d req/s, %d users, hot card skew %.2f%n%n",
+						due, config.duration(), config.rate(), config.users(), config.hotCardSkew());
+				report.print(System.out, config.duration().toMillis() / 1_000.0);
+				report.write(config.outputDir());
+				
+				if (report.totalDropped() > 0) {
+					System.out.printf("%n%d requests dropped at maxInFlight=%d  <-- the server could not keep up, "
+							+ "dropped requests are charged until the end of the run%n", report.totalDropped(), config.maxInFlight());
+				}
+				
+				BigDecimal expected = Seeder.INITIAL_BALANCE.multiply(BigDecimal.valueOf((long) config.users() * config.cardsPerUser()));
+				BigDecimal actual = seeder.totalBalance();
+				System.out.printf("%nTotal balance %s, expected %s%s%n", actual, expected,
+						actual.compareTo(expected) == 0 ? "" : "  <-- money was created or lost");
+				System.out.printf("Reports written to %s%n", config.outputDir().toAbsolutePath());
+			}
+		}
+	}
+	
+	private static ConfigurableApplicationContext start(
+			PostgreSQLContainer<?> postgres,
+			GenericContainer<?> redis,
+			LoadTestConfig config
+	) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("server.port", 0);
+		properties.put("POSTGRES_HOST", postgres.getHost());
+		properties.put("POSTGRES_PORT", postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT));
+		properties.put("POSTGRES_DB", postgres.getDatabaseName());
+		properties.put("POSTGRES_USER", postgres.getUsername());
+		properties.put("POSTGRES_PASSWORD", postgres.getPassword());
+		properties.put("REDIS_HOST", redis.getHost());
+		properties.put("REDIS_PORT", redis.getMappedPort(REDIS_PORT));
+		properties.put("JWT_ACCESS_SECRET", randomSecret());
+		properties.put("JWT_REFRESH_SECRET", randomSecret());
+		properties.put("rate-limit.enabled", config.rateLimit());
+		
+		return new SpringApplicationBuilder(BankCardsApplication.class)
+				.properties(properties)
+				.profiles("prod")
+				.run();
+	}
+	
+	/**
+	 * Every user is signed in up front, in parallel, since each login pays for a bcrypt check.
+	 */
+	private static void signIn(BankApiClient client, List<Session> sessions, Session admin) throws Exception {
+		List<Session> all = new ArrayList<>(sessions);
+		all.add(admin);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		
+		try {
+			List<Future<?>> logins = new ArrayList<>();
+			
+			for (Session session : all) {
+				logins.add(executor.submit(() -> {
+					HttpResponse<String> response = client.sendAndWait(client.login(session.getEmail(), Seeder.PASSWORD));
+					
+					if (response.statusCode() != 200) {
+						throw new IllegalStateException("Login of " + session.getEmail() + " failed: " + response.statusCode());
+					}
+					client.signIn(session, response);
+					return null;
+				}));
+			}
+			for (Future<?> login : logins) {
+				login.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		
+		log.info("signIn[1]: {} sessions signed in", all.size());
+	}
+	
+	private static String randomSecret() {
+		byte[] key = new byte[32];
+		new SecureRandom().nextBytes(key);
+		
+		return Base64.getEncoder().encodeToString(key);
+	}
+}
@@ -0,0 +1,57 @@
+package com.example.bankcards.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Read from {@code load.*} system properties, see the {@code load} Maven profile.
+ */
+record LoadTestConfig(
+		int rate,
+		Duration warmup,
+		Duration duration,
+		int users,
+		int cardsPerUser,
+		double hotCardSkew,
+		Map<Operation, Integer> mix,
+		int maxInFlight,
+		boolean rateLimit,
+		Path outputDir
+) {
+	private static final String DEFAULT_MIX = "login:2,refresh:3,list-cards:30,balance:35,transfer:20,admin-search:10";
+	
+	static LoadTestConfig fromSystemProperties() {
+		return new LoadTestConfig(
+				Integer.getInteger("load.rate", 200),
+				Duration.parse(System.getProperty("load.warmup", "PT15S")),
+				Duration.parse(System.getProperty("load.duration", "PT60S")),
+				Integer.getInteger("load.users", 100),
+				Integer.getInteger("load.cardsPerUser", 3),
+				Double.parseDouble(System.getProperty("load.hotCardSkew", "1.0")),
+				parseMix(System.getProperty("load.mix", DEFAULT_MIX)),
+				Integer.getInteger("load.maxInFlight", 2_000),
+				Boolean.getBoolean("load.rateLimit"),
+				Path.of(System.getProperty("load.outputDir", "target/load"))
+		);
+	}
+	
+	/**
+	 * @param mix comma separated {@code operation:weight} pairs, e.g. {@code balance:70,transfer:30}
+	 */
+	static Map<Operation, Integer> parseMix(String mix) {
+		Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+		
+		for (String entry : mix.split(",")) {
+			String[] parts = entry.trim().split(":");
+			
+			if (parts.length != 2) {
+				throw new IllegalArgumentException("Expected operation:weight, got '" + entry + "'");
+			}
+			weights.put(Operation.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+		}
+		
+		return weights;
+	}
+}
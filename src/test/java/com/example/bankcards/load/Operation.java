@@ -0,0 +1,23 @@
+package com.example.bankcards.load;
+
+import java.util.Arrays;
+
+enum Operation {
+	LOGIN,
+	REFRESH,
+	LIST_CARDS,
+	BALANCE,
+	TRANSFER,
+	ADMIN_SEARCH;
+	
+	String getKey() {
+		return name().toLowerCase().replace('_', '-');
+	}
+	
+	static Operation fromKey(String key) {
+		return Arrays.stream(values())
+				.filter(operation -> operation.getKey().equals(key))
+				.findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + key + "'"));
+	}
+}
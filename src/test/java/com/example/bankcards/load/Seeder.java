@@ -0,0 +1,82 @@
+package com.example.bankcards.load;
+
+import com.example.bankcards.enums.BankCardStatus;
+import com.example.bankcards.enums.Role;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Inserts the users and cards of a run straight through JDBC, one bcrypt hash shared by everyone,
+ * with balances large enough that no transfer of the run can fail on funds.
+ */
+final class Seeder {
+	static final String PASSWORD = "load-test-password";
+	static final String ADMIN_EMAIL = "load-admin@example.com";
+	static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+	private static final String[] FIRST_NAMES = {"Anna", "Boris", "Clara", "Denis", "Elena", "Fedor", "Galina", "Ivan"};
+	private static final String[] LAST_NAMES = {"Ivanova", "Petrov", "Sidorova", "Smirnov", "Kuznetsova", "Popov"};
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+	
+	Seeder(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+	
+	/**
+	 * @return one session per seeded user, not signed in yet
+	 */
+	List<Session> seed(int users, int cardsPerUser) {
+		insertUser(UUID.randomUUID(), ADMIN_EMAIL, "Load", "Admin", Role.ADMIN);
+		
+		List<Session> sessions = new ArrayList<>(users);
+		List<Object[]> cards = new ArrayList<>(users * cardsPerUser);
+		Date expiryDate = Date.valueOf(LocalDate.now().plusYears(3));
+		
+		for (int i = 0; i < users; i++) {
+			UUID userId = UUID.randomUUID();
+			String email = "user-" + i + "@load.example.com";
+			insertUser(userId, email, FIRST_NAMES[i % FIRST_NAMES.length], LAST_NAMES[i % LAST_NAMES.length], Role.USER);
+			
+			List<UUID> cardIds = new ArrayList<>(cardsPerUser);
+			
+			for (int j = 0; j < cardsPerUser; j++) {
+				UUID cardId = UUID.randomUUID();
+				cardIds.add(cardId);
+				cards.add(new Object[] {
+						cardId, String.format("5%015d", (long) i * cardsPerUser + j), userId,
+						INITIAL_BALANCE, BankCardStatus.ACTIVE.name(), expiryDate
+				});
+			}
+			sessions.add(new Session(email, List.copyOf(cardIds)));
+		}
+		
+		jdbcTemplate.batchUpdate(
+				"INSERT INTO cards (id, number, user_id, balance, status, expiry_date) VALUES (?, ?, ?, ?, ?, ?)",
+				cards
+		);
+		jdbcTemplate.execute("ANALYZE cards");
+		jdbcTemplate.execute("ANALYZE users");
+		
+		return sessions;
+	}
+	
+	BigDecimal totalBalance() {
+		return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(balance), 0) FROM cards", BigDecimal.class);
+	}
+	
+	private void insertUser(UUID id, String email, String firstName, String lastName, Role role) {
+		jdbcTemplate.update(
+				"INSERT INTO users (id, email, first_name, last_name, password, role) VALUES (?, ?, ?, ?, ?, ?)",
+				id, email, firstName, lastName, passwordHash, role.name()
+		);
+	}
+}
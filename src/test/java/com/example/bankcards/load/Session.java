@@ -0,0 +1,56 @@
+package com.example.bankcards.load;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One seeded user and the tokens of its latest login or refresh.
+ */
+final class Session {
+	private final String email;
+	private final List<UUID> cardIds;
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+	private volatile String accessToken;
+	private volatile String refreshCookie;
+	
+	Session(String email, List<UUID> cardIds) {
+		this.email = email;
+		this.cardIds = cardIds;
+	}
+	
+	String getEmail() {
+		return email;
+	}
+	
+	List<UUID> getCardIds() {
+		return cardIds;
+	}
+	
+	String getAccessToken() {
+		return accessToken;
+	}
+	
+	String getRefreshCookie() {
+		return refreshCookie;
+	}
+	
+	void signedIn(String accessToken, String refreshCookie) {
+		this.accessToken = accessToken;
+		
+		if (refreshCookie != null) {
+			this.refreshCookie = refreshCookie;
+		}
+	}
+	
+	/**
+	 * Refresh tokens are single use, so only one refresh per session may be in flight.
+	 */
+	boolean tryStartRefresh() {
+		return refreshCookie != null && refreshing.compareAndSet(false, true);
+	}
+	
+	void refreshFinished() {
+		refreshing.set(false);
+	}
+}
@@ -0,0 +1,31 @@
+package com.example.bankcards.load;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws ranks {@code 0..n-1} with probability proportional to {@code 1 / (rank + 1)^exponent}:
+ * an exponent of 0 is uniform, around 1 a handful of hot cards take most transfers.
+ */
+final class ZipfSampler {
+	private final double[] cumulative;
+	
+	ZipfSampler(int n, double exponent) {
+		cumulative = new double[n];
+		double sum = 0;
+		
+		for (int rank = 0; rank < n; rank++) {
+			sum += 1 / Math.pow(rank + 1, exponent);
+			cumulative[rank] = sum;
+		}
+		for (int rank = 0; rank < n; rank++) {
+			cumulative[rank] /= sum;
+		}
+	}
+	
+	int next(RandomGenerator random) {
+		int index = Arrays.binarySearch(cumulative, random.nextDouble());
+		
+		return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+	}
+}
@@ -0,0 +1,52 @@
+package com.example.bankcards.metrics;
+
+import com.example.bankcards.enums.RequestStage;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RequestStageTimerTest {
+	
+	private final RequestStageTimer timer = new RequestStageTimer();
+	
+	@Test
+	void snapshot_ShouldReportPercentilesPerStage() {
+		for (int i = 1; i <= 100; i++) {
+			timer.recordNanos(RequestStage.BLACKLIST, TimeUnit.MILLISECONDS.toNanos(i));
+		}
+		
+		RequestStageTimer.StageSnapshot blacklist = timer.snapshot().stages().get("blacklist");
+		
+		assertThat(blacklist.count()).isEqualTo(100);
+		assertThat(blacklist.p50()).isCloseTo(50, within(1.0));
+		assertThat(blacklist.p99()).isCloseTo(99, within(1.0));
+		assertThat(blacklist.max()).isCloseTo(100, within(1.0));
+		assertThat(timer.snapshot().stages().get("load-user").count()).isZero();
+	}
+	
+	@Test
+	void snapshot_ShouldAccumulateUntilReset() {
+		timer.recordNanos(RequestStage.VERIFY, 1_000);
+		timer.snapshot();
+		timer.recordNanos(RequestStage.VERIFY, 1_000);
+		
+		assertThat(timer.snapshot().stages().get("verify").count()).isEqualTo(2);
+		
+		timer.reset();
+		timer.recordNanos(RequestStage.VERIFY, 1_000);
+		
+		assertThat(timer.snapshot().stages().get("verify").count()).isEqualTo(1);
+	}
+	
+	@Test
+	void record_ShouldReturnStartOfNextStage() {
+		long start = System.nanoTime();
+		long next = timer.record(RequestStage.EXTRACT, start);
+		
+		assertThat(next).isGreaterThanOrEqualTo(start);
+		assertThat(timer.snapshot().stages().get("extract").count()).isEqualTo(1);
+	}
+}
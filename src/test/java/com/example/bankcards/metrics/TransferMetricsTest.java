@@ -0,0 +1,67 @@
+package com.example.bankcards.metrics;
+
+import com.example.bankcards.enums.BankError;
+import com.example.bankcards.enums.TransferFailureReason;
+import com.example.bankcards.jfr.TransferEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionSystemException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransferMetricsTest {
+	
+	private SimpleMeterRegistry meterRegistry;
+	private TransferMetrics transferMetrics;
+	
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		transferMetrics = new TransferMetrics(meterRegistry);
+	}
+	
+	@Test
+	void rejected_ShouldCountByReason() {
+		transferMetrics.rejected(TransferFailureReason.INSUFFICIENT_FUNDS);
+		transferMetrics.rejected(TransferFailureReason.INSUFFICIENT_FUNDS);
+		transferMetrics.rejected(TransferFailureReason.CARD_NOT_FOUND);
+		
+		assertThat(failed("insufficient-funds")).isEqualTo(2);
+		assertThat(failed("card-not-found")).isEqualTo(1);
+		assertThat(failed("inactive-card")).isZero();
+	}
+	
+	@Test
+	void recordSuccess_ShouldTimeTransfer_WithoutEvent() {
+		transferMetrics.recordSuccess(System.nanoTime(), null);
+		
+		assertThat(transfers("success")).isEqualTo(1);
+		assertThat(transfers("failure")).isZero();
+	}
+	
+	@Test
+	void recordFailure_ShouldNotCountRejectionAsError() {
+		transferMetrics.recordFailure(System.nanoTime(), new TransferEvent(), BankError.NOT_ENOUGH_MONEY.exception());
+		
+		assertThat(transfers("failure")).isEqualTo(1);
+		assertThat(failed("error")).isZero();
+	}
+	
+	@Test
+	void recordFailure_ShouldCountFailedCommitAsError() {
+		transferMetrics.recordFailure(System.nanoTime(), null, new TransactionSystemException("Could not commit"));
+		
+		assertThat(transfers("success")).isZero();
+		assertThat(transfers("failure")).isEqualTo(1);
+		assertThat(failed("error")).isEqualTo(1);
+	}
+	
+	private long transfers(String outcome) {
+		return meterRegistry.get("bank.transfers").tag("outcome", outcome).timer().count();
+	}
+	
+	private double failed(String reason) {
+		return meterRegistry.get("bank.transfers.failed").tag("reason", reason).counter().count();
+	}
+}
@@ -1,26 +1,35 @@
 package com.example.bankcards.service;
 
 import com.example.bankcards.dto.CardDto;
+import com.example.bankcards.dto.projection.CardSummary;
 import com.example.bankcards.dto.request.CreateCardRequest;
 import com.example.bankcards.dto.response.CardBalanceResponse;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.dto.response.EstimatedPage;
 import com.example.bankcards.enums.BankCardStatus;
+import com.example.bankcards.enums.CountMode;
 import com.example.bankcards.enums.Role;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.UserRepository;
 import com.example.bankcards.service.impl.CardServiceImpl;
+import com.example.bankcards.service.impl.CardViewCache;
+import com.example.bankcards.service.impl.ListingCountService;
 import com.example.bankcards.util.CardUtils;
 import com.example.bankcards.util.mappers.CardMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
@@ -31,6 +40,8 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -41,12 +52,15 @@ class CardServiceImplTest {
 	@Mock private UserRepository userRepository;
 	@Mock private CardMapper cardMapper;
 	@Mock private CardUtils cardUtils;
+	@Mock private ListingCountService listingCountService;
+	@Spy private CardViewCache cardViewCache = new CardViewCache(new SimpleMeterRegistry(), 100, 60000);
 	
 	@InjectMocks
 	private CardServiceImpl cardService;
 	
 	private User user;
 	private Card card;
+	private CardSummary summary;
 	private UUID cardId;
 	
 	@BeforeEach
@@ -66,6 +80,17 @@ class CardServiceImplTest {
 				.status(BankCardStatus.ACTIVE)
 				.number("1234567890123456")
 				.build();
+		
+		summary = new CardSummary(
+				cardId,
+				card.getNumber(),
+				card.getStatus(),
+				card.getExpiryDate(),
+				card.getBalance(),
+				user.getId(),
+				user.getFirstName(),
+				user.getLastName()
+		);
 	}
 	
 	@Test
@@ -88,8 +113,8 @@ class CardServiceImplTest {
 	@Test
 	void getCardById_ShouldReturnDto_WhenUserIsOwner() {
 		CardDto dto = new CardDto();
-		when(cardRepository.findById(cardId)).thenReturn(Optional.of(card));
-		when(cardMapper.cardToCardDto(card)).thenReturn(dto);
+		when(cardRepository.findSummaryById(cardId)).thenReturn(Optional.of(summary));
+		when(cardMapper.cardSummaryToCardDto(summary)).thenReturn(dto);
 		
 		CardDto result = cardService.getCardById(user, cardId);
 		
@@ -104,8 +129,8 @@ class CardServiceImplTest {
 				.build();
 		
 		CardDto dto = new CardDto();
-		when(cardRepository.findById(cardId)).thenReturn(Optional.of(card));
-		when(cardMapper.cardToCardDto(card)).thenReturn(dto);
+		when(cardRepository.findSummaryById(cardId)).thenReturn(Optional.of(summary));
+		when(cardMapper.cardSummaryToCardDto(summary)).thenReturn(dto);
 		
 		CardDto result = cardService.getCardById(admin, cardId);
 		
@@ -119,7 +144,7 @@ class CardServiceImplTest {
 				.role(Role.USER)
 				.build();
 		
-		when(cardRepository.findById(cardId)).thenReturn(Optional.of(card));
+		when(cardRepository.findSummaryById(cardId)).thenReturn(Optional.of(summary));
 		
 		assertThrows(ResponseStatusException.class,
 				() -> cardService.getCardById(anotherUser, cardId));
@@ -127,7 +152,7 @@ class CardServiceImplTest {
 	
 	@Test
 	void getCardById_ShouldThrowNotFound_WhenCardMissing() {
-		when(cardRepository.findById(cardId)).thenReturn(Optional.empty());
+		when(cardRepository.findSummaryById(cardId)).thenReturn(Optional.empty());
 		
 		assertThrows(ResponseStatusException.class,
 				() -> cardService.getCardById(user, cardId));
@@ -166,61 +191,97 @@ class CardServiceImplTest {
 	
 	@Test
 	void getCards_ShouldReturnAll_WhenNoSearchTermAndAdmin() {
-		Page<Card> page = new PageImpl<>(List.of(card));
+		Page<CardSummary> page = new PageImpl<>(List.of(summary));
 		User adminUser = User.builder()
 				.id(UUID.randomUUID())
 				.role(Role.ADMIN)
 				.build();
 		
-		when(cardRepository.findAll(any(Pageable.class))).thenReturn(page);
+		when(cardRepository.findSummaries(any(Pageable.class))).thenReturn(page);
 		
-		Page<CardDto> result = cardService.getCards(0, 10, null, adminUser);
+		Page<CardDto> result = cardService.getCards(0, 10, null, adminUser, CountMode.EXACT);
 		
 		assertEquals(1, result.getTotalElements());
 	}
 	
+	@Test
+	void getCards_ShouldUseEstimate_WhenApproxCountAndAdmin() {
+		User adminUser = User.builder()
+				.id(UUID.randomUUID())
+				.role(Role.ADMIN)
+				.build();
+		
+		when(cardRepository.findSummarySlice(any(Pageable.class)))
+				.thenReturn(new SliceImpl<>(List.of(summary), PageRequest.of(0, 1), true));
+		when(listingCountService.estimateCards()).thenReturn(5000L);
+		when(cardMapper.cardSummaryToCardDto(summary)).thenReturn(new CardDto());
+		
+		Page<CardDto> result = cardService.getCards(0, 1, null, adminUser, CountMode.APPROX);
+		
+		assertInstanceOf(EstimatedPage.class, result);
+		assertEquals(5000L, result.getTotalElements());
+		verify(cardRepository, never()).findAll(any(Pageable.class));
+	}
+	
+	@Test
+	void getCards_ShouldSkipEstimate_WhenApproxCountOnLastPage() {
+		User adminUser = User.builder()
+				.id(UUID.randomUUID())
+				.role(Role.ADMIN)
+				.build();
+		
+		when(cardRepository.findSummarySliceByLastFourDigits(eq("3456"), any(Pageable.class)))
+				.thenReturn(new SliceImpl<>(List.of(summary), PageRequest.of(0, 10), false));
+		when(cardMapper.cardSummaryToCardDto(summary)).thenReturn(new CardDto());
+		
+		Page<CardDto> result = cardService.getCards(0, 10, "3456", adminUser, CountMode.APPROX);
+		
+		assertEquals(1, result.getTotalElements());
+		verify(listingCountService, never()).countCardsByLastFourDigits(any());
+	}
+	
 	@Test
 	void getCards_ShouldReturnAll_WhenNoSearchTermAndUser() {
-		Page<Card> page = new PageImpl<>(List.of(card));
-		when(cardRepository.findByOwner(eq(user), any(Pageable.class))).thenReturn(page);
+		Page<CardSummary> page = new PageImpl<>(List.of(summary));
+		when(cardRepository.findSummariesByOwnerId(eq(user.getId()), any(Pageable.class))).thenReturn(page);
 		
-		Page<CardDto> result = cardService.getCards(0, 10, null, user);
+		Page<CardDto> result = cardService.getCards(0, 10, null, user, CountMode.EXACT);
 		
 		assertEquals(1, result.getTotalElements());
 	}
 	
 	@Test
 	void getCards_ShouldSearchByLastFourDigits_WhenDigitsProvided() {
-		Page<Card> page = new PageImpl<>(List.of(card));
-		when(cardRepository.findByLastFourDigits(eq("1234"), any(Pageable.class)))
+		Page<CardSummary> page = new PageImpl<>(List.of(summary));
+		when(cardRepository.findSummariesByLastFourDigits(eq("1234"), any(Pageable.class)))
 				.thenReturn(page);
-		when(cardMapper.cardToCardDto(card)).thenReturn(new CardDto());
+		when(cardMapper.cardSummaryToCardDto(summary)).thenReturn(new CardDto());
 		
-		Page<CardDto> result = cardService.getCards(0, 10, "1234", user);
+		Page<CardDto> result = cardService.getCards(0, 10, "1234", user, CountMode.EXACT);
 		
 		assertEquals(1, result.getTotalElements());
 	}
 	
 	@Test
 	void getCards_ShouldSearchByFullName_WhenTwoWordsProvided() {
-		Page<Card> page = new PageImpl<>(List.of(card));
-		when(cardRepository.findByOwnerFirstNameOrLastName(eq("John"), eq("Doe"), any(Pageable.class)))
+		Page<CardSummary> page = new PageImpl<>(List.of(summary));
+		when(cardRepository.findSummariesByOwnerFirstNameOrLastName(eq("John"), eq("Doe"), any(Pageable.class)))
 				.thenReturn(page);
-		when(cardMapper.cardToCardDto(card)).thenReturn(new CardDto());
+		when(cardMapper.cardSummaryToCardDto(summary)).thenReturn(new CardDto());
 		
-		Page<CardDto> result = cardService.getCards(0, 10, "John Doe", user);
+		Page<CardDto> result = cardService.getCards(0, 10, "John Doe", user, CountMode.EXACT);
 		
 		assertEquals(1, result.getTotalElements());
 	}
 	
 	@Test
 	void getCards_ShouldSearchByFirstName_WhenOneWordProvided() {
-		Page<Card> page = new PageImpl<>(List.of(card));
-		when(cardRepository.findByOwnerFirstName(eq("John"), any(Pageable.class)))
+		Page<CardSummary> page = new PageImpl<>(List.of(summary));
+		when(cardRepository.findSummariesByOwnerFirstName(eq("John"), any(Pageable.class)))
 				.thenReturn(page);
-		when(cardMapper.cardToCardDto(card)).thenReturn(new CardDto());
+		when(cardMapper.cardSummaryToCardDto(summary)).thenReturn(new CardDto());
 		
-		Page<CardDto> result = cardService.getCards(0, 10, "John", user);
+		Page<CardDto> result = cardService.getCards(0, 10, "John", user, CountMode.EXACT);
 		
 		assertEquals(1, result.getTotalElements());
 	}
@@ -255,7 +316,7 @@ class CardServiceImplTest {
 	
 	@Test
 	void getCardBalance_ShouldReturnBalance_WhenCardExists() {
-		when(cardRepository.findByOwnerAndId(user, cardId)).thenReturn(Optional.of(card));
+		when(cardRepository.findOwnedSummaryById(cardId, user.getId())).thenReturn(Optional.of(summary));
 		
 		CardBalanceResponse response = cardService.getCardBalance(user, cardId);
 		
@@ -265,9 +326,55 @@ class CardServiceImplTest {
 	
 	@Test
 	void getCardBalance_ShouldThrow_WhenCardNotFound() {
-		when(cardRepository.findByOwnerAndId(user, cardId)).thenReturn(Optional.empty());
+		when(cardRepository.findOwnedSummaryById(cardId, user.getId())).thenReturn(Optional.empty());
 		
 		assertThrows(ResponseStatusException.class,
 				() -> cardService.getCardBalance(user, cardId));
 	}
+	
+	@Test
+	void getCardBalance_ShouldThrow_WhenCardBelongsToAnotherUser() {
+		User anotherUser = User.builder()
+				.id(UUID.randomUUID())
+				.role(Role.USER)
+				.build();
+		
+		when(cardRepository.findOwnedSummaryById(cardId, anotherUser.getId())).thenReturn(Optional.empty());
+		
+		assertThrows(ResponseStatusException.class,
+				() -> cardService.getCardBalance(anotherUser, cardId));
+		assertNull(cardViewCache.getDetail(cardId, id -> Optional.empty()).orElse(null));
+	}
+	
+	@Test
+	void getCardBalance_ShouldNeverServeFromCache() {
+		when(cardRepository.findOwnedSummaryById(cardId, user.getId())).thenReturn(Optional.of(summary));
+		
+		cardService.getCardBalance(user, cardId);
+		cardService.getCardBalance(user, cardId);
+		
+		verify(cardRepository, times(2)).findOwnedSummaryById(cardId, user.getId());
+	}
+	
+	@Test
+	void getCardById_ShouldServeRepeatedLookupsFromCache() {
+		when(cardRepository.findSummaryById(cardId)).thenReturn(Optional.of(summary));
+		
+		cardService.getCardById(user, cardId);
+		cardService.getCardById(user, cardId);
+		
+		verify(cardRepository, times(1)).findSummaryById(cardId);
+	}
+	
+	@Test
+	void blockCard_ShouldEvictCachedCard() {
+		when(cardRepository.findSummaryById(cardId)).thenReturn(Optional.of(summary));
+		when(cardRepository.findById(cardId)).thenReturn(Optional.of(card));
+		
+		cardService.getCardById(user, cardId);
+		cardService.blockCard(cardId);
+		cardService.getCardById(user, cardId);
+		
+		verify(cardRepository, times(2)).findSummaryById(cardId);
+	}
 }
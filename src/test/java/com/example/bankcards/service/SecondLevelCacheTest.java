@@ -0,0 +1,115 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.BankCardStatus;
+import com.example.bankcards.enums.Role;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every repository call in its own transaction, the second-level cache only serves committed entries.
+ */
+@DataJpaTest(properties = {
+		"spring.liquibase.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(SqlStatementCounter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+	
+	@Autowired private UserRepository userRepository;
+	@Autowired private CardRepository cardRepository;
+	
+	private User user;
+	private Card card;
+	
+	@BeforeEach
+	void setUp() {
+		user = userRepository.save(User.builder()
+				.email("cached@example.com")
+				.firstName("John")
+				.lastName("Doe")
+				.role(Role.USER)
+				.password("password123")
+				.build());
+		card = cardRepository.save(Card.builder()
+				.number("1111222233334444")
+				.balance(BigDecimal.TEN)
+				.expiryDate(LocalDate.now().plusYears(1))
+				.owner(user)
+				.build());
+		SqlStatementCounter.reset();
+	}
+	
+	@AfterEach
+	void tearDown() {
+		cardRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+	
+	@Test
+	void findByEmail_ShouldNotQuery_WhenUserIsCached() {
+		userRepository.findByEmail(user.getEmail());
+		SqlStatementCounter.reset();
+		
+		assertTrue(userRepository.findByEmail(user.getEmail()).isPresent());
+		assertEquals(0, SqlStatementCounter.count());
+	}
+	
+	@Test
+	void findById_ShouldNotQuery_WhenUserIsCached() {
+		userRepository.findById(user.getId());
+		SqlStatementCounter.reset();
+		
+		assertTrue(userRepository.findById(user.getId()).isPresent());
+		assertEquals(0, SqlStatementCounter.count());
+	}
+	
+	@Test
+	void findById_ShouldAlwaysReadCardFromDatabase() {
+		cardRepository.findById(card.getId());
+		SqlStatementCounter.reset();
+		
+		assertTrue(cardRepository.findById(card.getId()).isPresent());
+		assertEquals(1, SqlStatementCounter.count());
+	}
+	
+	@Test
+	void save_ShouldRejectStaleCard_InsteadOfRestoringItsBalance() {
+		Card stale = cardRepository.findById(card.getId()).orElseThrow();
+		Card current = cardRepository.findById(card.getId()).orElseThrow();
+		current.setBalance(BigDecimal.ONE);
+		cardRepository.save(current);
+		
+		stale.setStatus(BankCardStatus.BLOCKED);
+		
+		assertThrows(ObjectOptimisticLockingFailureException.class, () -> cardRepository.save(stale));
+		assertEquals(0, BigDecimal.ONE.compareTo(cardRepository.findById(card.getId()).orElseThrow().getBalance()));
+	}
+	
+	@Test
+	void findByEmail_ShouldFollowEmailChange() {
+		User updated = userRepository.findById(user.getId()).orElseThrow();
+		updated.setEmail("renamed@example.com");
+		userRepository.save(updated);
+		
+		assertTrue(userRepository.findByEmail("cached@example.com").isEmpty());
+		assertTrue(userRepository.findByEmail("renamed@example.com").isPresent());
+	}
+}
@@ -0,0 +1,194 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.request.TransactionRequest;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.RefreshToken;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.CountMode;
+import com.example.bankcards.enums.Role;
+import com.example.bankcards.enums.TokenType;
+import com.example.bankcards.metrics.TransferMetrics;
+import com.example.bankcards.repository.RefreshTokenRepository;
+import com.example.bankcards.service.impl.CardServiceImpl;
+import com.example.bankcards.service.impl.CardViewCache;
+import com.example.bankcards.service.impl.ListingCountService;
+import com.example.bankcards.service.impl.TransactionServiceImpl;
+import com.example.bankcards.support.SqlStatementCounter;
+import com.example.bankcards.util.CardUtils;
+import com.example.bankcards.util.mappers.CardMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the number of SQL statements each card, transfer and refresh path issues,
+ * so that a new EAGER association or an N+1 shows up as a failing test.
+ */
+@DataJpaTest(properties = {
+		"spring.liquibase.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({
+		SqlStatementCounter.class,
+		CardServiceImpl.class,
+		CardViewCache.class,
+		SimpleMeterRegistry.class,
+		CardMapperImpl.class,
+		CardUtils.class,
+		ListingCountService.class,
+		TransactionServiceImpl.class,
+		TransferMetrics.class
+})
+class StatementCountTest {
+	
+	@Autowired private TestEntityManager entityManager;
+	@Autowired private CardService cardService;
+	@Autowired private TransactionService transactionService;
+	@Autowired private RefreshTokenRepository refreshTokenRepository;
+	
+	private User owner;
+	private User admin;
+	private Card firstCard;
+	private Card secondCard;
+	
+	@BeforeEach
+	void setUp() {
+		owner = entityManager.persist(user("owner@example.com", Role.USER));
+		admin = entityManager.persist(user("admin@example.com", Role.ADMIN));
+		
+		firstCard = entityManager.persist(card("1111222233334444"));
+		secondCard = entityManager.persist(card("5555666677778888"));
+		entityManager.persist(card("9999000011112222"));
+		
+		entityManager.persist(RefreshToken.builder()
+				.user(owner)
+				.token("refresh-token")
+				.tokenType(TokenType.REFRESH)
+				.expirationDate(Instant.now().plusSeconds(60))
+				.build());
+		
+		entityManager.flush();
+		entityManager.clear();
+		SqlStatementCounter.reset();
+	}
+	
+	@Test
+	void getCardById_ShouldIssueSingleSelect() {
+		cardService.getCardById(owner, firstCard.getId());
+		
+		assertEquals(1, SqlStatementCounter.count());
+	}
+	
+	@Test
+	void getCards_ShouldIssueContentAndCountSelects_WhenAdmin() {
+		cardService.getCards(0, 2, null, admin, CountMode.EXACT);
+		
+		assertEquals(2, SqlStatementCounter.count());
+	}
+	
+	@Test
+	void getCards_ShouldIssueContentAndCountSelects_WhenOwner() {
+		cardService.getCards(0, 2, null, owner, CountMode.EXACT);
+		
+		assertEquals(2, SqlStatementCounter.count());
+	}
+	
+	@Test
+	void getCards_ShouldStayWithinBudget_WhenPageOfTwentyIsFull() {
+		for (int i = 0; i < 20; i++) {
+			entityManager.persist(card(String.format("4000%012d", i)));
+		}
+		entityManager.flush();
+		entityManager.clear();
+		SqlStatementCounter.reset();
+		
+		cardService.getCards(0, 20, null, admin, CountMode.EXACT);
+		
+		SqlStatementCounter.assertAtMost(2);
+		SqlStatementCounter.assertStatements(2, 0, 0);
+	}
+	
+	@Test
+	void getCards_ShouldSkipCount_WhenApproxSearchFitsOnePage() {
+		cardService.getCards(0, 10, "4444", admin, CountMode.APPROX);
+		
+		assertEquals(1, SqlStatementCounter.count());
+	}
+	
+	@Test
+	void getCardBalance_ShouldIssueSingleSelect() {
+		cardService.getCardBalance(owner, firstCard.getId());
+		
+		assertEquals(1, SqlStatementCounter.count());
+	}
+	
+	@Test
+	void makeTransaction_ShouldLoadBothCardsInOneSelect() {
+		TransactionRequest request = TransactionRequest.builder()
+				.sender_card_id(firstCard.getId())
+				.recipient_card_id(secondCard.getId())
+				.amount(BigDecimal.TEN)
+				.build();
+		
+		transactionService.makeTransactionBetweenCards(request, owner);
+		entityManager.flush();
+		
+		SqlStatementCounter.assertAtMost(3);
+		SqlStatementCounter.assertStatements(1, 0, 2);
+	}
+	
+	@Test
+	void makeTransaction_ShouldNotFindSenderCard_WhenOwnedByAnotherUser() {
+		TransactionRequest request = TransactionRequest.builder()
+				.sender_card_id(firstCard.getId())
+				.recipient_card_id(secondCard.getId())
+				.amount(BigDecimal.TEN)
+				.build();
+		
+		ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+				() -> transactionService.makeTransactionBetweenCards(request, admin));
+		
+		assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+		SqlStatementCounter.assertStatements(1, 0, 0);
+	}
+	
+	@Test
+	void findWithUserByToken_ShouldFetchUserInSameSelect() {
+		RefreshToken token = refreshTokenRepository.findWithUserByToken("refresh-token").orElseThrow();
+		
+		assertTrue(Hibernate.isInitialized(token.getUser()));
+		assertEquals(1, SqlStatementCounter.count());
+	}
+	
+	private User user(String email, Role role) {
+		return User.builder()
+				.email(email)
+				.firstName("John")
+				.lastName("Doe")
+				.password("password123")
+				.role(role)
+				.build();
+	}
+	
+	private Card card(String number) {
+		return Card.builder()
+				.owner(owner)
+				.number(number)
+				.balance(BigDecimal.valueOf(500))
+				.expiryDate(LocalDate.now().plusYears(3))
+				.build();
+	}
+}
@@ -2,9 +2,12 @@ package com.example.bankcards.service;
 
 import com.example.bankcards.dto.UserDto;
 import com.example.bankcards.dto.request.RegisterRequest;
+import com.example.bankcards.dto.response.EstimatedPage;
 import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.CountMode;
 import com.example.bankcards.enums.Role;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.impl.ListingCountService;
 import com.example.bankcards.service.impl.UserServiceImpl;
 import com.example.bankcards.util.Constants;
 import com.example.bankcards.util.mappers.UserMapper;
@@ -18,6 +21,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -43,6 +47,9 @@ class UserServiceImplTest {
 	@Mock
 	private UserMapper userMapper;
 	
+	@Mock
+	private ListingCountService listingCountService;
+	
 	@InjectMocks
 	private UserServiceImpl userService;
 	
@@ -171,7 +178,7 @@ class UserServiceImplTest {
 		when(userRepository.findAll(PageRequest.of(0, 10))).thenReturn(page);
 		when(userMapper.userToUserDto(user)).thenReturn(userDto);
 		
-		Page<UserDto> result = userService.getUsers(0, 10, null);
+		Page<UserDto> result = userService.getUsers(0, 10, null, CountMode.EXACT);
 		
 		assertThat(result.getContent()).containsExactly(userDto);
 	}
@@ -182,7 +189,7 @@ class UserServiceImplTest {
 		when(userRepository.findByFirstName(eq("John"), any(Pageable.class))).thenReturn(page);
 		when(userMapper.userToUserDto(user)).thenReturn(userDto);
 		
-		Page<UserDto> result = userService.getUsers(0, 10, "John");
+		Page<UserDto> result = userService.getUsers(0, 10, "John", CountMode.EXACT);
 		
 		assertThat(result.getContent()).containsExactly(userDto);
 	}
@@ -193,11 +200,25 @@ class UserServiceImplTest {
 		when(userRepository.findByFirstNameOrLastName(eq("John"), eq("Doe"), any(Pageable.class))).thenReturn(page);
 		when(userMapper.userToUserDto(user)).thenReturn(userDto);
 		
-		Page<UserDto> result = userService.getUsers(0, 10, "John Doe");
+		Page<UserDto> result = userService.getUsers(0, 10, "John Doe", CountMode.EXACT);
 		
 		assertThat(result.getContent()).containsExactly(userDto);
 	}
 	
+	@Test
+	void getUsers_ShouldUseCachedCount_WhenApproxCountAndQuery() {
+		when(userRepository.findSliceByFirstName(eq("John"), any(Pageable.class)))
+				.thenReturn(new SliceImpl<>(List.of(user), PageRequest.of(0, 1), true));
+		when(listingCountService.countUsersByFirstName("John")).thenReturn(42L);
+		when(userMapper.userToUserDto(user)).thenReturn(userDto);
+		
+		Page<UserDto> result = userService.getUsers(0, 1, "John", CountMode.APPROX);
+		
+		assertThat(result).isInstanceOf(EstimatedPage.class);
+		assertThat(result.getTotalElements()).isEqualTo(42L);
+		verify(userRepository, never()).findByFirstName(any(), any());
+	}
+	
 	@Test
 	void getCurrentUser_ShouldReturnUserFromSecurityContext() {
 		SecurityContextHolder.getContext().setAuthentication(
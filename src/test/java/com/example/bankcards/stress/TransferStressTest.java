@@ -0,0 +1,244 @@
+package com.example.bankcards.stress;
+
+import com.example.bankcards.dto.request.TransactionRequest;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.Role;
+import com.example.bankcards.exception.BankException;
+import com.example.bankcards.metrics.TransferMetrics;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.TransactionService;
+import com.example.bankcards.service.impl.CardViewCache;
+import com.example.bankcards.service.impl.TransactionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires concurrent transfers through {@link TransactionService} against a throwaway Postgres with the Liquibase schema,
+ * over a card graph with a ring (every card pays the next, so there are cycles of every length) and a few hot cards
+ * that take part in a configurable share of the transfers. Balances start low so some transfers run out of funds.
+ * <p>
+ * Afterwards every card's balance must equal its initial balance plus the committed transfers in minus the ones out,
+ * no balance may be negative, and every transfer must have either committed or been rejected within the timeout.
+ * The transfer locks both rows in id order, so a lock failure means that ordering broke and fails the test. Sizes are read from {@code stress.*} system properties.
+ */
+@Slf4j
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+		TransactionServiceImpl.class,
+		CardViewCache.class,
+		SimpleMeterRegistry.class,
+		TransferMetrics.class
+})
+class TransferStressTest {
+	private static final int TRANSFERS = Integer.getInteger("stress.transfers", 2_000);
+	private static final int THREADS = Integer.getInteger("stress.threads", 16);
+	private static final int CARDS = Integer.getInteger("stress.cards", 40);
+	private static final int HOT_CARDS = Integer.getInteger("stress.hotCards", 4);
+	private static final double HOT_SHARE = Double.parseDouble(System.getProperty("stress.hotShare", "0.5"));
+	private static final BigDecimal INITIAL_BALANCE = new BigDecimal("100.00");
+	private static final int MAX_AMOUNT = 25;
+	private static final long TIMEOUT_SECONDS = 120;
+	
+	@Container
+	private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+	
+	@DynamicPropertySource
+	static void postgres(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+		registry.add("spring.datasource.username", POSTGRES::getUsername);
+		registry.add("spring.datasource.password", POSTGRES::getPassword);
+	}
+	
+	@Autowired private TransactionService transactionService;
+	@Autowired private UserRepository userRepository;
+	@Autowired private CardRepository cardRepository;
+	@Autowired private JdbcTemplate jdbcTemplate;
+	
+	private final List<Card> cards = new ArrayList<>();
+	private final Map<UUID, User> owners = new HashMap<>();
+	
+	@BeforeEach
+	void setUp() {
+		List<User> users = new ArrayList<>();
+		
+		for (int i = 0; i < Math.max(2, CARDS / 4); i++) {
+			users.add(userRepository.save(User.builder()
+					.email("stress-" + i + "@example.com")
+					.firstName("Stress")
+					.lastName("User" + i)
+					.password("password123")
+					.role(Role.USER)
+					.build()));
+		}
+		
+		for (int i = 0; i < CARDS; i++) {
+			User owner = users.get(i % users.size());
+			Card card = cardRepository.save(Card.builder()
+					.number(String.format("7%015d", i))
+					.owner(owner)
+					.balance(INITIAL_BALANCE)
+					.expiryDate(LocalDate.now().plusYears(3))
+					.build());
+			
+			cards.add(card);
+			owners.put(card.getId(), owner);
+		}
+	}
+	
+	@AfterEach
+	void tearDown() {
+		cardRepository.deleteAllInBatch();
+		jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'stress-%'");
+	}
+	
+	@Test
+	void concurrentTransfers_ShouldConserveMoneyAndKeepBalancesNonNegative() throws InterruptedException {
+		List<TransactionRequest> requests = plan(new Random(42));
+		Queue<TransactionRequest> committed = new ConcurrentLinkedQueue<>();
+		Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+		AtomicLong rejected = new AtomicLong();
+		AtomicLong lockFailures = new AtomicLong();
+		
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		
+		for (TransactionRequest request : requests) {
+			executor.execute(() -> {
+				try {
+					start.await();
+					transactionService.makeTransactionBetweenCards(request, owners.get(request.getSender_card_id()));
+					committed.add(request);
+				} catch (BankException e) {
+					rejected.incrementAndGet();
+				} catch (PessimisticLockingFailureException e) {
+					lockFailures.incrementAndGet();
+				} catch (Throwable e) {
+					unexpected.add(e);
+				}
+			});
+		}
+		
+		long startNanos = System.nanoTime();
+		start.countDown();
+		executor.shutdown();
+		boolean finished = executor.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		double seconds = (System.nanoTime() - startNanos) / 1e9;
+		
+		log.info("concurrentTransfers[1]: {} transfers on {} threads in {}s: {} committed ({}/s), {} rejected ({}%), {} lock failures ({}%)",
+				requests.size(), THREADS, String.format("%.2f", seconds),
+				committed.size(), String.format("%.0f", committed.size() / seconds),
+				rejected.get(), percent(rejected.get(), requests.size()),
+				lockFailures.get(), percent(lockFailures.get(), requests.size()));
+		
+		assertTrue(finished, "transfers still running after " + TIMEOUT_SECONDS + "s, a lock wait was never resolved");
+		assertTrue(unexpected.isEmpty(), () -> "unexpected failures: " + unexpected);
+		assertEquals(0, lockFailures.get(), "transfers failed to take their row locks");
+		assertEquals(requests.size(), committed.size() + rejected.get());
+		assertFalse(committed.isEmpty());
+		
+		Map<UUID, BigDecimal> expected = expectedBalances(committed);
+		Map<UUID, BigDecimal> actual = new HashMap<>();
+		jdbcTemplate.query("SELECT id, balance FROM cards", row -> {
+			actual.put(row.getObject("id", UUID.class), row.getBigDecimal("balance"));
+		});
+		
+		assertEquals(INITIAL_BALANCE.multiply(BigDecimal.valueOf(CARDS)),
+				actual.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add), "total money");
+		assertTrue(actual.values().stream().allMatch(balance -> balance.signum() >= 0), "negative balance in " + actual);
+		expected.forEach((cardId, balance) ->
+				assertEquals(0, balance.compareTo(actual.get(cardId)), "balance of card " + cardId));
+	}
+	
+	/**
+	 * Ring edges, then edges into or out of a hot card for {@code HOT_SHARE} of the rest, random pairs otherwise.
+	 */
+	private List<TransactionRequest> plan(Random random) {
+		List<TransactionRequest> requests = new ArrayList<>(TRANSFERS);
+		
+		for (int i = 0; i < TRANSFERS; i++) {
+			int sender;
+			int recipient;
+			
+			if (i < CARDS) {
+				sender = i;
+				recipient = (i + 1) % CARDS;
+			} else if (random.nextDouble() < HOT_SHARE) {
+				int hot = random.nextInt(Math.min(HOT_CARDS, CARDS));
+				int other = random.nextInt(CARDS);
+				boolean outgoing = random.nextBoolean();
+				sender = outgoing ? hot : other;
+				recipient = outgoing ? other : hot;
+			} else {
+				sender = random.nextInt(CARDS);
+				recipient = random.nextInt(CARDS);
+			}
+			
+			if (sender == recipient) {
+				recipient = (recipient + 1) % CARDS;
+			}
+			
+			requests.add(TransactionRequest.builder()
+					.sender_card_id(cards.get(sender).getId())
+					.recipient_card_id(cards.get(recipient).getId())
+					.amount(BigDecimal.valueOf(1 + random.nextInt(MAX_AMOUNT)))
+					.build());
+		}
+		
+		return requests;
+	}
+	
+	private Map<UUID, BigDecimal> expectedBalances(Queue<TransactionRequest> committed) {
+		Map<UUID, BigDecimal> balances = new HashMap<>();
+		cards.forEach(card -> balances.put(card.getId(), INITIAL_BALANCE));
+		
+		for (TransactionRequest request : committed) {
+			balances.merge(request.getSender_card_id(), request.getAmount().negate(), BigDecimal::add);
+			balances.merge(request.getRecipient_card_id(), request.getAmount(), BigDecimal::add);
+		}
+		
+		return balances;
+	}
+	
+	private static String percent(long count, int total) {
+		return String.format("%.1f", 100.0 * count / total);
+	}
+}
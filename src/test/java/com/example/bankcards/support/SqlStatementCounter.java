@@ -0,0 +1,73 @@
+package com.example.bankcards.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts every SQL statement executed on the current thread, by type, through a {@link SqlStatementCountingDataSource}
+ * wrapped around the context's {@link DataSource}. Registered with {@code @Import(SqlStatementCounter.class)}.
+ * A JDBC batch counts each of its entries, so budgets stay the same whether or not Hibernate batches.
+ */
+public class SqlStatementCounter implements BeanPostProcessor {
+	private static final ThreadLocal<Map<SqlStatementType, Integer>> COUNTS =
+			ThreadLocal.withInitial(() -> new EnumMap<>(SqlStatementType.class));
+	private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+	
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof DataSource dataSource && !(bean instanceof SqlStatementCountingDataSource)) {
+			return new SqlStatementCountingDataSource(dataSource);
+		}
+		
+		return bean;
+	}
+	
+	static void executed(String sql, int times) {
+		COUNTS.get().merge(SqlStatementType.of(sql), times, Integer::sum);
+		STATEMENTS.get().add(times == 1 ? sql : sql + " (x" + times + ")");
+	}
+	
+	public static void reset() {
+		COUNTS.get().clear();
+		STATEMENTS.get().clear();
+	}
+	
+	public static int count() {
+		return COUNTS.get().values().stream().mapToInt(Integer::intValue).sum();
+	}
+	
+	public static int count(SqlStatementType type) {
+		return COUNTS.get().getOrDefault(type, 0);
+	}
+	
+	/**
+	 * Asserts the exact number of SELECT, INSERT and UPDATE statements, and that nothing else ran.
+	 */
+	public static void assertStatements(int selects, int inserts, int updates) {
+		String statements = executedStatements();
+		
+		assertEquals(selects, count(SqlStatementType.SELECT), () -> "SELECT count, executed:" + statements);
+		assertEquals(inserts, count(SqlStatementType.INSERT), () -> "INSERT count, executed:" + statements);
+		assertEquals(updates, count(SqlStatementType.UPDATE), () -> "UPDATE count, executed:" + statements);
+		assertEquals(selects + inserts + updates, count(), () -> "statement count, executed:" + statements);
+	}
+	
+	public static void assertAtMost(int budget) {
+		assertTrue(count() <= budget, () -> count() + " statements over a budget of " + budget + ", executed:" + executedStatements());
+	}
+	
+	private static String executedStatements() {
+		StringBuilder builder = new StringBuilder();
+		STATEMENTS.get().forEach(sql -> builder.append(System.lineSeparator()).append("  ").append(sql));
+		
+		return builder.toString();
+	}
+}
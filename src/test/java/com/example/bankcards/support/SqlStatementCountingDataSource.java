@@ -0,0 +1,98 @@
+package com.example.bankcards.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports every executed statement to {@link SqlStatementCounter}: prepared statements with the SQL they were prepared with,
+ * plain statements with the SQL passed to {@code execute*} or {@code addBatch}.
+ */
+public class SqlStatementCountingDataSource extends DelegatingDataSource {
+	
+	public SqlStatementCountingDataSource(DataSource targetDataSource) {
+		super(targetDataSource);
+	}
+	
+	@Override
+	public Connection getConnection() throws SQLException {
+		return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+	}
+	
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+	}
+	
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return type.cast(Proxy.newProxyInstance(SqlStatementCountingDataSource.class.getClassLoader(), new Class<?>[] {type}, handler));
+	}
+	
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+	
+	private record ConnectionHandler(Connection target) implements InvocationHandler {
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result = SqlStatementCountingDataSource.invoke(target, method, args);
+			
+			return switch (method.getName()) {
+				case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, null));
+				case "prepareStatement" -> proxy(PreparedStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+				case "prepareCall" -> proxy(CallableStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+				default -> result;
+			};
+		}
+	}
+	
+	private static final class StatementHandler implements InvocationHandler {
+		private final Statement target;
+		private final String preparedSql;
+		private final List<String> batch = new ArrayList<>();
+		
+		private StatementHandler(Statement target, String preparedSql) {
+			this.target = target;
+			this.preparedSql = preparedSql;
+		}
+		
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result = SqlStatementCountingDataSource.invoke(target, method, args);
+			String name = method.getName();
+			
+			if (name.equals("addBatch")) {
+				batch.add(args == null ? preparedSql : (String) args[0]);
+			} else if (name.equals("clearBatch")) {
+				batch.clear();
+			} else if (name.startsWith("executeBatch") || name.startsWith("executeLargeBatch")) {
+				Map<String, Integer> entries = new LinkedHashMap<>();
+				batch.forEach(sql -> entries.merge(sql, 1, Integer::sum));
+				entries.forEach(SqlStatementCounter::executed);
+				batch.clear();
+			} else if (name.startsWith("execute")) {
+				SqlStatementCounter.executed(args == null || args.length == 0 ? preparedSql : (String) args[0], 1);
+			}
+			
+			return result;
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.example.bankcards.support;
+
+public enum SqlStatementType {
+	SELECT,
+	INSERT,
+	UPDATE,
+	DELETE,
+	OTHER;
+	
+	public static SqlStatementType of(String sql) {
+		String statement = sql.stripLeading();
+		
+		for (SqlStatementType type : values()) {
+			if (type != OTHER && statement.regionMatches(true, 0, type.name(), 0, type.name().length())) {
+				return type;
+			}
+		}
+		
+		return OTHER;
+	}
+}
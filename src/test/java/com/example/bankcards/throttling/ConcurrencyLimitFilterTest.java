@@ -0,0 +1,135 @@
+package com.example.bankcards.throttling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+	
+	private ConcurrencyLimitFilter filter;
+	private SimpleMeterRegistry meterRegistry;
+	
+	@BeforeEach
+	void setUp() {
+		ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+		properties.getGroups().put("transactions", group(List.of("/api/transactions/**"), List.of(), 0, 1, 1, 1));
+		properties.getGroups().put("listings", group(List.of("/api/cards"), List.of("GET"), 3, 10, 1, 10));
+		
+		meterRegistry = new SimpleMeterRegistry();
+		filter = new ConcurrencyLimitFilter(properties, new ObjectMapper(), meterRegistry);
+	}
+	
+	@Test
+	void request_ShouldBeShed_WhenGroupIsAtLimit() throws Exception {
+		MockHttpServletResponse nested = new MockHttpServletResponse();
+		
+		MockHttpServletResponse response = execute("POST", "/api/transactions", (request, servletResponse) ->
+				filter.doFilter(request("POST", "/api/transactions"), nested, (r, s) -> {})
+		);
+		
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(nested.getStatus()).isEqualTo(503);
+		assertThat(nested.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+		assertThat(nested.getContentAsString()).contains("Service is busy, try again later");
+		assertThat(meterRegistry.get("concurrency.rejected").tag("group", "transactions").counter().count()).isEqualTo(1);
+	}
+	
+	@Test
+	void lowerPriorityGroup_ShouldBeHeldAtMinLimit_WhileHigherPriorityGroupIsCongested() throws Exception {
+		MockHttpServletResponse secondListing = new MockHttpServletResponse();
+		
+		execute("POST", "/api/transactions", (request, response) ->
+				filter.doFilter(request("GET", "/api/cards"), new MockHttpServletResponse(), (r, s) ->
+						filter.doFilter(request("GET", "/api/cards"), secondListing, (r2, s2) -> {})
+				)
+		);
+		
+		assertThat(secondListing.getStatus()).isEqualTo(503);
+		assertThat(meterRegistry.get("concurrency.rejected").tag("group", "listings").counter().count()).isEqualTo(1);
+	}
+	
+	@Test
+	void lowerPriorityGroup_ShouldUseItsLimit_WhenHigherPriorityGroupIsIdle() throws Exception {
+		MockHttpServletResponse secondListing = new MockHttpServletResponse();
+		
+		execute("GET", "/api/cards", (request, response) ->
+				filter.doFilter(request("GET", "/api/cards"), secondListing, (r, s) -> {})
+		);
+		
+		assertThat(secondListing.getStatus()).isEqualTo(200);
+	}
+	
+	@Test
+	void unmatchedRequest_ShouldPassThrough() throws Exception {
+		MockHttpServletResponse response = execute("POST", "/api/cards", (request, servletResponse) -> {});
+		
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(meterRegistry.get("concurrency.inflight").tag("group", "listings").gauge().value()).isZero();
+	}
+	
+	@Test
+	void gradientLimit_ShouldGrow_WhileLatencyIsSteady_AndShrink_WhenItInflates() {
+		GradientLimit limit = new GradientLimit(20, 5, 200, 1.5);
+		
+		for (int i = 0; i < 50; i++) {
+			limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), limit.getLimit());
+		}
+		int grown = limit.getLimit();
+		assertThat(grown).isGreaterThan(20);
+		
+		for (int i = 0; i < 50; i++) {
+			limit.onSample(TimeUnit.MILLISECONDS.toNanos(100), limit.getLimit());
+		}
+		assertThat(limit.getLimit()).isLessThan(grown);
+		assertThat(limit.getGradient()).isLessThan(1.0);
+	}
+	
+	@Test
+	void gradientLimit_ShouldNotGrow_WhenFarBelowLimit() {
+		GradientLimit limit = new GradientLimit(20, 5, 200, 1.5);
+		
+		for (int i = 0; i < 50; i++) {
+			limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), 1);
+		}
+		
+		assertThat(limit.getLimit()).isEqualTo(20);
+	}
+	
+	private MockHttpServletResponse execute(String method, String uri, FilterChain chain) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request(method, uri), response, chain);
+		return response;
+	}
+	
+	private static MockHttpServletRequest request(String method, String uri) {
+		return new MockHttpServletRequest(method, uri);
+	}
+	
+	private static ConcurrencyLimitProperties.Group group(
+		List<String> patterns,
+		List<String> methods,
+		int priority,
+		int initialLimit,
+		int minLimit,
+		int maxLimit
+	) {
+		ConcurrencyLimitProperties.Group group = new ConcurrencyLimitProperties.Group();
+		group.setPatterns(patterns);
+		group.setMethods(methods);
+		group.setPriority(priority);
+		group.setInitialLimit(initialLimit);
+		group.setMinLimit(minLimit);
+		group.setMaxLimit(maxLimit);
+		return group;
+	}
+}
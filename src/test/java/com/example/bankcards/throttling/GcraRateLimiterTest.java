@@ -0,0 +1,121 @@
+package com.example.bankcards.throttling;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the GCRA script against a throwaway Redis, skipped when Docker isn't available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class GcraRateLimiterTest {
+	private static final Duration MINUTE = Duration.ofMinutes(1);
+	
+	@Container
+	private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+	
+	private static LettuceConnectionFactory connectionFactory;
+	private static StringRedisTemplate redisTemplate;
+	
+	@BeforeAll
+	static void connect() {
+		connectionFactory = new LettuceConnectionFactory(
+				new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379))
+		);
+		connectionFactory.afterPropertiesSet();
+		connectionFactory.start();
+		redisTemplate = new StringRedisTemplate(connectionFactory);
+	}
+	
+	@AfterAll
+	static void disconnect() {
+		connectionFactory.destroy();
+	}
+	
+	@BeforeEach
+	void flush() {
+		redisTemplate.execute(connection -> {
+			connection.serverCommands().flushAll();
+			return null;
+		}, true);
+	}
+	
+	@Test
+	void tryAcquire_ShouldAllowUpToLimit_ThenDeny() {
+		GcraRateLimiter limiter = new GcraRateLimiter(redisTemplate, 1, Duration.ofSeconds(1));
+		
+		for (int expectedRemaining = 4; expectedRemaining >= 0; expectedRemaining--) {
+			RateLimitDecision decision = limiter.tryAcquire("user:1", 5, MINUTE);
+			
+			assertThat(decision.allowed()).isTrue();
+			assertThat(decision.remaining()).isEqualTo(expectedRemaining);
+		}
+		
+		RateLimitDecision denied = limiter.tryAcquire("user:1", 5, MINUTE);
+		
+		assertThat(denied.allowed()).isFalse();
+		assertThat(denied.retryAfterMs()).isBetween(1L, 12_000L);
+		assertThat(denied.resetAfterMs()).isBetween(48_000L, 60_000L);
+	}
+	
+	@Test
+	void tryAcquire_ShouldKeepKeysIndependent() {
+		GcraRateLimiter limiter = new GcraRateLimiter(redisTemplate, 1, Duration.ofSeconds(1));
+		
+		assertThat(limiter.tryAcquire("user:1", 1, MINUTE).allowed()).isTrue();
+		assertThat(limiter.tryAcquire("user:1", 1, MINUTE).allowed()).isFalse();
+		assertThat(limiter.tryAcquire("user:2", 1, MINUTE).allowed()).isTrue();
+	}
+	
+	@Test
+	void leasedTokens_ShouldBeServedLocally_AndCountAgainstOtherNodes() {
+		GcraRateLimiter node1 = new GcraRateLimiter(redisTemplate, 10, Duration.ofSeconds(10));
+		GcraRateLimiter node2 = new GcraRateLimiter(redisTemplate, 10, Duration.ofSeconds(10));
+		
+		assertThat(node1.tryAcquire("user:1", 100, MINUTE).remaining()).isEqualTo(99);
+		String tat = redisTemplate.opsForValue().get("user:1");
+		
+		for (int i = 0; i < 9; i++) {
+			assertThat(node1.tryAcquire("user:1", 100, MINUTE).allowed()).isTrue();
+		}
+		
+		assertThat(redisTemplate.opsForValue().get("user:1")).isEqualTo(tat);
+		assertThat(node2.tryAcquire("user:1", 100, MINUTE).remaining()).isEqualTo(89);
+	}
+	
+	@Test
+	void sparseTraffic_ShouldNeverBeDenied_WhenWellUnderLimit() throws InterruptedException {
+		GcraRateLimiter limiter = new GcraRateLimiter(redisTemplate, 10, Duration.ofMillis(10));
+		Duration period = Duration.ofSeconds(2);
+		
+		// 100 per 2s is one token per 20ms with a burst of 100, a request every 30ms uses two thirds of that.
+		// Without the refund each request would spend a whole lease of 10 and run dry after about a dozen requests.
+		for (int i = 0; i < 60; i++) {
+			assertThat(limiter.tryAcquire("user:1", 100, period).allowed()).as("request %d", i).isTrue();
+			Thread.sleep(30);
+		}
+	}
+	
+	@Test
+	void denial_ShouldBeRememberedLocally_UntilRetryTime() {
+		GcraRateLimiter limiter = new GcraRateLimiter(redisTemplate, 1, Duration.ofSeconds(1));
+		
+		limiter.tryAcquire("ip:127.0.0.1", 1, MINUTE);
+		assertThat(limiter.tryAcquire("ip:127.0.0.1", 1, MINUTE).allowed()).isFalse();
+		
+		redisTemplate.delete("ip:127.0.0.1");
+		
+		assertThat(limiter.tryAcquire("ip:127.0.0.1", 1, MINUTE).allowed()).isFalse();
+	}
+}
@@ -0,0 +1,117 @@
+package com.example.bankcards.throttling;
+
+import com.example.bankcards.entity.User;
+import com.example.bankcards.enums.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+	
+	private GcraRateLimiter rateLimiter;
+	private RateLimitFilter filter;
+	
+	@BeforeEach
+	void setUp() {
+		RateLimitProperties.Rule auth = new RateLimitProperties.Rule();
+		auth.setPatterns(List.of("/api/auth/**"));
+		auth.setLimit(10);
+		
+		RateLimitProperties.Rule cards = new RateLimitProperties.Rule();
+		cards.setPatterns(List.of("/api/cards/**"));
+		cards.setLimit(100);
+		cards.getRoleLimits().put(Role.ADMIN, 500);
+		
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.getRules().put("auth", auth);
+		properties.getRules().put("cards", cards);
+		
+		rateLimiter = mock(GcraRateLimiter.class);
+		filter = new RateLimitFilter(properties, rateLimiter, new ObjectMapper());
+	}
+	
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+	
+	@Test
+	void anonymousRequest_ShouldBeKeyedByIp() throws Exception {
+		when(rateLimiter.tryAcquire(anyString(), anyInt(), any())).thenReturn(new RateLimitDecision(true, 9, 0, 6_000));
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+		request.setRemoteAddr("10.0.0.1");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		
+		filter.doFilter(request, response, new MockFilterChain());
+		
+		verify(rateLimiter).tryAcquire("rate-limit:auth:ip:10.0.0.1", 10, Duration.ofMinutes(1));
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("10");
+		assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("9");
+		assertThat(response.getHeader(RateLimitFilter.RESET_HEADER)).isEqualTo("6");
+		assertThat(response.getHeader(RateLimitFilter.POLICY_HEADER)).isEqualTo("10;w=60");
+	}
+	
+	@Test
+	void authenticatedRequest_ShouldBeKeyedByUser_WithRoleLimit() throws Exception {
+		User admin = User.builder().id(UUID.randomUUID()).email("admin@example.com").role(Role.ADMIN).build();
+		SecurityContextHolder.getContext().setAuthentication(
+				UsernamePasswordAuthenticationToken.authenticated(admin, null, admin.getAuthorities())
+		);
+		when(rateLimiter.tryAcquire(anyString(), anyInt(), any())).thenReturn(new RateLimitDecision(true, 499, 0, 120));
+		
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/cards/1"), new MockHttpServletResponse(), new MockFilterChain());
+		
+		verify(rateLimiter).tryAcquire("rate-limit:cards:user:" + admin.getId(), 500, Duration.ofMinutes(1));
+	}
+	
+	@Test
+	void deniedRequest_ShouldGet429_WithRetryAfter() throws Exception {
+		when(rateLimiter.tryAcquire(anyString(), anyInt(), any())).thenReturn(new RateLimitDecision(false, 0, 1_500, 60_000));
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/cards"), response, chain);
+		
+		assertThat(response.getStatus()).isEqualTo(429);
+		assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+		assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+		assertThat(response.getContentAsString()).contains("Too many requests, try again later");
+		assertThat(chain.getRequest()).isNull();
+	}
+	
+	@Test
+	void unmatchedRequest_ShouldNotBeLimited() throws Exception {
+		filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(), new MockFilterChain());
+		
+		verifyNoInteractions(rateLimiter);
+	}
+	
+	@Test
+	void unavailableRedis_ShouldNotAddHeaders() throws Exception {
+		when(rateLimiter.tryAcquire(anyString(), anyInt(), any())).thenReturn(RateLimitDecision.allowUnlimited());
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/cards"), response, new MockFilterChain());
+		
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getHeader(RateLimitFilter.LIMIT_HEADER)).isNull();
+	}
+}